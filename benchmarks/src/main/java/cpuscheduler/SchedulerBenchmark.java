@@ -0,0 +1,75 @@
+package cpuscheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Simulates one algorithm over a generated workload per invocation.
+// The primary score is whole simulations per second; the "decisions" counter reports scheduling
+// decisions per second (its inverse is the latency of one decision), and running through
+// SchedulerBenchmarkRunner adds the GC profiler's allocation rate.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int processes;
+
+    // Arrival patterns of WorkloadGenerator: uniform gaps, exponential gaps and bursts of 50 processes
+    @Param({"steady:3", "poisson:2", "bursty:50:100"})
+    public String arrivals;
+
+    @Param({"uniform:1:10"})
+    public String service;
+
+    @Param({"FCFS", "RR-4", "SPN", "SRT", "HRRN", "AGING", "FB-1", "FB-2i"})
+    public String algorithm;
+
+    private ProcessTable table;
+    private int algorithmId;
+    private int quantum;
+
+    // Scheduling decisions made, reported by JMH as a rate next to the primary score
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Decisions {
+        public long decisions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            decisions = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BatchOptions options = BatchOptions.parse(new String[] {"--workload", "-", "--algorithms", algorithm});
+        algorithmId = options.algorithms[0];
+        quantum = options.quanta[0];
+        table = new WorkloadGenerator(processes, arrivals, service, 42).toTable();
+    }
+
+    @Benchmark
+    public double simulate(Decisions counters) {
+        CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table, false);
+        simulator.runAlgorithm(algorithmId, quantum);
+        counters.decisions += simulator.decisions();
+        return simulator.meanTurnAround();
+    }
+}
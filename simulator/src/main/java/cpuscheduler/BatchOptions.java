@@ -0,0 +1,316 @@
+package cpuscheduler;
+
+import java.util.Arrays;
+
+// Command-line options for the non-interactive batch mode:
+//   --workload <file|->        workload with one "name arrival service" line per process ('-' reads stdin)
+//   --algorithms <list>        comma separated, e.g. FCFS,RR-2,SPN (default: all implemented algorithms)
+//   --quantum <q>              quantum for a plain "RR" entry
+//   --output <trace|stats|summary> report to print (default: stats); summary gives percentiles instead of per-process columns
+//   --out <file>               write the report to a file instead of stdout
+//   --compare                  run the algorithms concurrently and print one comparison table
+//   --sweep <from>:<to>[:<step>] run Round Robin for every quantum in the range in parallel
+//   --generate <count>         generate a synthetic workload instead of reading one (see WorkloadGenerator)
+//   --arrivals <spec>          arrival pattern of the generated workload (default: poisson:2)
+//   --service <spec>           service time distribution of the generated workload (default: exponential:5)
+//   --seed <n>                 random seed of the generated workload (default: 1)
+//   --cpus <n>                 simulate n cores with per-core ready queues (default: 1)
+//   --steal                    let idle cores steal waiting processes from the busiest core (with --cpus)
+//   --online                   stream the workload through one algorithm, printing each completion as it happens
+//   --follow                   with --online, keep reading the workload file as it grows (like tail -f)
+//   --metrics <file|->         write SchedulerMetrics of every run as JSON lines ('-' appends them to the report)
+//   --format <text|binary|json> encoding of the reports: binary (trace and workload, needs --out) or json
+//                              (trace, stats, summary, --compare and --sweep) (default: text)
+//   --replay <file>            print the runs of a binary trace of the workload instead of simulating
+//   --cache <dir>              reuse the results of earlier identical runs kept in dir (see ResultCache)
+//   --cache-size <MB>          bound of the cache directory, least recently used entries go first (default: 256)
+//   --window <from>:<to>       trace only the ticks [from, to), to cut at the end of the trace
+//   --processes <names>        trace only the comma separated processes
+//   --downsample <ticks>       trace one column per bucket of ticks, showing the state that filled most of it
+//   --policy <classes>         run the comma separated SchedulingPolicy classes (on the class path) instead of --algorithms
+//   --serve <port>             run SimulationServer on the local port instead of one batch (0 picks a free port)
+// "--output workload" writes the workload instead of simulating it, which converts between the text and
+// binary formats (see BinaryWorkload); --workload reads either. "--output trace --format binary" saves
+// the execution intervals of every run (see BinaryTrace) for --replay.
+class BatchOptions {
+    static final String USAGE = "Usage: java -jar cpu-scheduler.jar (--workload <file|-> | --generate <count>"
+            + " [--arrivals <spec>] [--service <spec>] [--seed <n>])\n"
+            + "       [--algorithms FCFS,RR-2,SPN,SRT,HRRN,AGING,FB-1,FB-2i] [--quantum <q>] [--output trace|stats|summary|workload]"
+            + " [--out <file>] [--compare] [--sweep <from>:<to>[:<step>]]\n"
+            + "       [--cpus <n> [--steal]] [--online [--follow]] [--metrics <file|->] [--format text|binary|json] [--replay <file>]\n"
+            + "       [--cache <dir> [--cache-size <MB>]] [--window <from>:<to>] [--processes <names>] [--downsample <ticks>] [--policy <classes>]\n"
+            + "   or: java -jar cpu-scheduler.jar --serve <port> [--cache <dir> [--cache-size <MB>]]";
+
+    private static final String DEFAULT_ALGORITHMS = "FCFS,RR,SPN,SRT,HRRN,AGING,FB-1,FB-2i";
+    private static final int DEFAULT_QUANTUM = 1;
+    private static final int DEFAULT_CACHE_MB = 256;
+
+    String workload;
+    int generate = -1; // Number of processes to generate, -1 to read --workload instead
+    String arrivals = "poisson:2";
+    String service = "exponential:5";
+    long seed = 1;
+    int[] algorithms; // Indices into CPUSchedulingSimulator.ALGORITHMS
+    int[] quanta;     // Quantum for each entry of algorithms, -1 where unused
+    String output = CPUSchedulingSimulator.SHOW_STATISTICS;
+    String outFile;
+    boolean compare;
+    boolean sweep;
+    int sweepFrom, sweepTo, sweepStep = 1;
+    int cpus = 1;
+    boolean steal;
+    boolean online;
+    boolean follow;
+    String metrics; // Metrics destination, null when metrics are off
+    boolean binary; // Binary trace or workload output
+    boolean json;   // JSON reports
+    String replay;  // Binary trace to replay, null to simulate
+    String cache;   // Result cache directory, null for no cache
+    long cacheBytes = DEFAULT_CACHE_MB << 20;
+    int serve = -1; // Port of the simulation server, -1 for a batch run
+    long traceFrom = 0;
+    long traceTo = -1;  // -1 for the whole run
+    int traceStep = 1;  // Ticks per trace column
+    String[] traceProcesses; // Processes to trace, null for all
+    String[] policies; // Custom SchedulingPolicy classes to run instead of the algorithms, null for none
+
+    // True if the arguments ask for batch mode rather than the interactive prompts
+    static boolean requested(String[] args) {
+        return args.length > 0;
+    }
+
+    static BatchOptions parse(String[] args) {
+        BatchOptions options = new BatchOptions();
+        String algorithmList = null; // DEFAULT_ALGORITHMS unless given
+        int quantum = DEFAULT_QUANTUM;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--workload": options.workload = value(args, ++i, arg); break;
+                case "--algorithms": algorithmList = value(args, ++i, arg); break;
+                case "--quantum": quantum = positive(value(args, ++i, arg), arg); break;
+                case "--output": options.output = value(args, ++i, arg); break;
+                case "--out": options.outFile = value(args, ++i, arg); break;
+                case "--compare": options.compare = true; break;
+                case "--sweep": options.parseSweep(value(args, ++i, arg)); break;
+                case "--generate": options.generate = count(value(args, ++i, arg), arg); break;
+                case "--arrivals": options.arrivals = value(args, ++i, arg); break;
+                case "--service": options.service = value(args, ++i, arg); break;
+                case "--seed": options.seed = seed(value(args, ++i, arg)); break;
+                case "--cpus": options.cpus = cpus(value(args, ++i, arg)); break;
+                case "--steal": options.steal = true; break;
+                case "--online": options.online = true; break;
+                case "--follow": options.follow = true; break;
+                case "--metrics": options.metrics = value(args, ++i, arg); break;
+                case "--format": options.format(value(args, ++i, arg)); break;
+                case "--replay": options.replay = value(args, ++i, arg); break;
+                case "--cache": options.cache = value(args, ++i, arg); break;
+                case "--cache-size": options.cacheBytes = (long) count(value(args, ++i, arg), arg) << 20; break;
+                case "--serve": options.serve = port(value(args, ++i, arg)); break;
+                case "--window": options.parseWindow(value(args, ++i, arg)); break;
+                case "--processes": options.traceProcesses = value(args, ++i, arg).split(","); break;
+                case "--downsample": options.traceStep = ticks(value(args, ++i, arg)); break;
+                case "--policy": options.policies = value(args, ++i, arg).split(","); break;
+                default: throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        if (options.serve >= 0) {
+            if (options.workload != null || options.generate >= 0 || options.online || options.replay != null
+                    || options.outFile != null || options.metrics != null || options.compare || options.sweep || options.policies != null) {
+                throw new IllegalArgumentException("--serve takes workloads and options per request; only --cache applies to the server");
+            }
+            return options;
+        }
+        if ((options.workload == null) == (options.generate < 0)) {
+            throw new IllegalArgumentException("Expected exactly one of --workload and --generate");
+        }
+        if (!options.output.equals(CPUSchedulingSimulator.TRACE) && !options.output.equals(CPUSchedulingSimulator.SHOW_STATISTICS)
+                && !options.output.equals(CPUSchedulingSimulator.SUMMARY)
+                && !options.output.equals(CPUSchedulingSimulator.WORKLOAD)) {
+            throw new IllegalArgumentException("--output must be " + CPUSchedulingSimulator.TRACE
+                    + ", " + CPUSchedulingSimulator.SHOW_STATISTICS + ", " + CPUSchedulingSimulator.SUMMARY
+                    + " or " + CPUSchedulingSimulator.WORKLOAD);
+        }
+        if (options.binary && (options.outFile == null || options.replay != null || options.compare || options.sweep
+                || !(options.output.equals(CPUSchedulingSimulator.TRACE) || options.output.equals(CPUSchedulingSimulator.WORKLOAD)))) {
+            throw new IllegalArgumentException("--format binary writes a trace or workload output to an --out file");
+        }
+        boolean traceView = options.traceFrom > 0 || options.traceTo >= 0 || options.traceStep > 1 || options.traceProcesses != null;
+        if (traceView && (!options.output.equals(CPUSchedulingSimulator.TRACE) || options.json || options.binary)) {
+            throw new IllegalArgumentException("--window, --processes and --downsample apply to the text trace output");
+        }
+        if (options.json && (options.output.equals(CPUSchedulingSimulator.WORKLOAD) || "-".equals(options.metrics))) {
+            throw new IllegalArgumentException("--format json applies to the trace, stats and summary reports;"
+                    + " --metrics then needs a file");
+        }
+        if (options.cache != null && (options.online || options.replay != null || options.output.equals(CPUSchedulingSimulator.WORKLOAD))) {
+            throw new IllegalArgumentException("--cache keeps the results of simulated runs; it does not apply to --online, --replay or workload output");
+        }
+        if (options.replay != null && (options.online || options.compare || options.sweep || options.metrics != null
+                || options.cpus > 1 || options.output.equals(CPUSchedulingSimulator.WORKLOAD))) {
+            throw new IllegalArgumentException("--replay prints the trace, stats or summary of recorded runs;"
+                    + " the algorithms and cores come from the trace file");
+        }
+
+        if (options.policies != null && (algorithmList != null || options.compare || options.sweep
+                || options.binary || options.cache != null || options.replay != null)) {
+            throw new IllegalArgumentException("--policy replaces --algorithms in plain batch and online runs,"
+                    + " without --compare, --sweep, --cache or binary output");
+        }
+
+        if (options.follow && (!options.online || options.workload == null || options.workload.equals("-"))) {
+            throw new IllegalArgumentException("--follow needs --online and a --workload file");
+        }
+
+        if (options.metrics != null && (options.online || options.compare || options.sweep)) {
+            throw new IllegalArgumentException("--metrics works with plain batch runs, not with --online, --compare or --sweep");
+        }
+
+        String[] names = (algorithmList != null ? algorithmList : DEFAULT_ALGORITHMS).split(",");
+        options.algorithms = new int[names.length];
+        options.quanta = new int[names.length];
+        Arrays.fill(options.quanta, -1);
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim().toUpperCase();
+            if (name.equals("RR")) {
+                options.algorithms[i] = CPUSchedulingSimulator.RR;
+                options.quanta[i] = quantum;
+            } else if (name.startsWith("RR-")) {
+                options.algorithms[i] = CPUSchedulingSimulator.RR;
+                options.quanta[i] = positive(name.substring(3), "RR-");
+            } else {
+                options.algorithms[i] = algorithmId(name);
+            }
+        }
+        int runs = options.policies != null ? options.policies.length : names.length;
+        if (options.online && (runs != 1 || options.compare || options.sweep || options.cpus > 1
+                || !options.output.equals(CPUSchedulingSimulator.SHOW_STATISTICS) || options.json)) {
+            throw new IllegalArgumentException("--online runs exactly one algorithm or policy on one CPU and prints text statistics");
+        }
+        return options;
+    }
+
+    private void parseWindow(String range) {
+        String[] parts = range.split(":");
+        try {
+            if (parts.length == 2) {
+                traceFrom = Long.parseLong(parts[0]);
+                traceTo = Long.parseLong(parts[1]);
+                if (traceFrom >= 0 && traceTo > traceFrom && traceTo <= Integer.MAX_VALUE) {
+                    return;
+                }
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("--window expects <from>:<to> with 0 <= from < to, got " + range);
+    }
+
+    private void parseSweep(String range) {
+        String[] parts = range.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("--sweep expects <from>:<to>[:<step>], got " + range);
+        }
+        sweep = true;
+        sweepFrom = positive(parts[0], "--sweep");
+        sweepTo = positive(parts[1], "--sweep");
+        if (parts.length == 3) {
+            sweepStep = positive(parts[2], "--sweep");
+        }
+        if (sweepTo < sweepFrom) {
+            throw new IllegalArgumentException("--sweep range is empty: " + range);
+        }
+    }
+
+    private static int algorithmId(String name) {
+        for (int id = 1; id < CPUSchedulingSimulator.ALGORITHMS.length; id++) {
+            if (CPUSchedulingSimulator.ALGORITHMS[id].equalsIgnoreCase(name)) {
+                return id;
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm " + name);
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[i];
+    }
+
+    private static int count(String value, String option) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n >= 0) {
+                return n;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid count for " + option + ": " + value);
+    }
+
+    private static int cpus(String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) {
+                return n;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid number of cores for --cpus: " + value);
+    }
+
+    private void format(String format) {
+        binary = format.equals("binary");
+        json = format.equals("json");
+        if (!binary && !json && !format.equals("text")) {
+            throw new IllegalArgumentException("--format must be text, binary or json, got " + format);
+        }
+    }
+
+    private static int ticks(String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) {
+                return n;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid number of ticks for --downsample: " + value);
+    }
+
+    private static int port(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            if (port >= 0 && port <= 65535) {
+                return port;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid port for --serve: " + value);
+    }
+
+    private static long seed(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid seed: " + value);
+        }
+    }
+
+    private static int positive(String value, String option) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) {
+                return n;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid quantum for " + option + ": " + value);
+    }
+}
@@ -0,0 +1,157 @@
+package cpuscheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Binary format of execution intervals: the ExecutionTimeline and finish times of each run, so the
+// trace and statistics reports can be replayed without simulating again. Values are little-endian ints:
+//   magic "CPT\0", version, process count n
+//   then one record per run, up to the end of the file:
+//     algorithm id, quantum (-1 unless RR), cores, segment count s
+//     finish[n]
+//     process[s], start[s], end[s], core[s]   the segments of each process in turn, in time order
+// Records are read by mapping their columns, so only the run being replayed is held in memory.
+class BinaryTrace implements Closeable {
+    static final int MAGIC = 0x00545043; // "CPT\0"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int RUN_HEADER_BYTES = 16;
+    private static final int PROCESS = 0, START = 1, END = 2, CORE = 3; // Segment columns
+
+    private final FileChannel channel;
+    private final int processCount;
+    private long position = HEADER_BYTES; // Start of the next run record
+
+    // Run read by the last successful call to next()
+    int algorithm;
+    int quantum;
+    int cpus;
+    final int[] finish;
+    ExecutionTimeline timeline;
+
+    private BinaryTrace(FileChannel channel) throws IOException {
+        this.channel = channel;
+        IntBuffer header = map(0, HEADER_BYTES);
+        if (header.get(0) != MAGIC || header.get(1) != VERSION) {
+            throw error("not a version " + VERSION + " binary trace");
+        }
+        processCount = header.get(2);
+        if (processCount < 0) {
+            throw error("invalid header");
+        }
+        finish = new int[processCount];
+    }
+
+    // Opens a binary trace file
+    static BinaryTrace open(String path) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(path));
+        try {
+            return new BinaryTrace(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Number of processes of the workload the runs were recorded on
+    int processCount() {
+        return processCount;
+    }
+
+    // Reads the next run; returns false at the end of the file
+    boolean next() throws IOException {
+        if (position == channel.size()) {
+            return false;
+        }
+        IntBuffer header = map(position, RUN_HEADER_BYTES);
+        algorithm = header.get(0);
+        quantum = header.get(1);
+        cpus = header.get(2);
+        int segments = header.get(3);
+        if (algorithm < 1 || algorithm >= CPUSchedulingSimulator.ALGORITHMS.length || cpus < 1 || segments < 0) {
+            throw error("invalid run header at byte " + position);
+        }
+        long at = position + RUN_HEADER_BYTES;
+        map(at, 4L * processCount).get(finish);
+        at += 4L * processCount;
+
+        timeline = readSegments(map(at, 16L * segments), segments, processCount, cpus);
+        position = at + 16L * segments;
+        return true;
+    }
+
+    // Rebuilds a timeline from the four segment columns at the start of the buffer
+    static ExecutionTimeline readSegments(IntBuffer columns, int segments, int processCount, int cpus) {
+        ExecutionTimeline timeline = new ExecutionTimeline(processCount);
+        for (int s = 0; s < segments; s++) {
+            int idx = columns.get(s);
+            int core = columns.get(3 * segments + s);
+            if (idx < 0 || idx >= processCount || core < 0 || core >= cpus) {
+                throw error("invalid segment " + s);
+            }
+            timeline.run(idx, columns.get(segments + s), columns.get(2 * segments + s), core);
+        }
+        return timeline;
+    }
+
+    // Writes the four segment columns of a timeline, the segments of each process in turn
+    static void putSegments(BinaryWriter out, ExecutionTimeline timeline, int processCount) throws IOException {
+        for (int column = PROCESS; column <= CORE; column++) {
+            for (int idx = 0; idx < processCount; idx++) {
+                for (int seg = timeline.firstSegment(idx); seg >= 0; seg = timeline.nextSegment(seg)) {
+                    switch (column) {
+                        case PROCESS: out.putInt(idx); break;
+                        case START: out.putInt(timeline.start(seg)); break;
+                        case END: out.putInt(timeline.end(seg)); break;
+                        default: out.putInt(timeline.core(seg)); break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Read-only int view of the given bytes of the file
+    private IntBuffer map(long at, long bytes) throws IOException {
+        if (at + bytes > channel.size()) {
+            throw error("truncated file");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, at, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("binary trace: " + message);
+    }
+
+    // Writer of a trace file; every call to write() appends the record of one run
+    static final class Writer implements Closeable {
+        private final BinaryWriter out;
+        private final int processCount;
+
+        Writer(Path path, int processCount) throws IOException {
+            out = new BinaryWriter(path);
+            this.processCount = processCount;
+            out.putInt(MAGIC).putInt(VERSION).putInt(processCount);
+        }
+
+        void write(int algorithm, int quantum, int cpus, int[] finish, ExecutionTimeline timeline) throws IOException {
+            out.putInt(algorithm).putInt(algorithm == CPUSchedulingSimulator.RR ? quantum : -1).putInt(cpus).putInt(timeline.segments());
+            out.putInts(finish, processCount);
+            putSegments(out, timeline, processCount);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package cpuscheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Binary workload format, the compact counterpart of the "name arrival service" lines WorkloadReader parses.
+// Values are little-endian ints laid out column by column, so a workload is memory-mapped and each
+// column is copied in bulk instead of being parsed:
+//   magic "CPW\0", version, process count n, name count m
+//   arrival[n], service[n]
+//   name id[n]      only when m > 0: index into the name table, -1 for an unnamed process
+//   name table      m x (byte length, UTF-8 bytes)
+// Every distinct name is stored once, and tables without names (generated workloads) have no name column.
+// Processes are read one at a time by next(), with the same fields as WorkloadGenerator, or all at once by toTable().
+class BinaryWorkload implements Closeable {
+    static final int MAGIC = 0x00575043; // "CPW\0": the NUL byte never starts a text workload
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final FileChannel channel;
+    private final int count;
+    private final IntBuffer arrivals;
+    private final IntBuffer services;
+    private final IntBuffer nameIds; // null when the processes are unnamed
+    private final String[] names;    // Name table
+
+    // Fields of the process read by the last successful call to next()
+    int index = -1;
+    int arrival;
+    int service;
+
+    private BinaryWorkload(FileChannel channel) throws IOException {
+        this.channel = channel;
+        if (channel.size() < HEADER_BYTES) {
+            throw error("truncated header");
+        }
+        IntBuffer header = map(0, HEADER_BYTES);
+        if (header.get(0) != MAGIC || header.get(1) != VERSION) {
+            throw error("not a version " + VERSION + " binary workload");
+        }
+        count = header.get(2);
+        int nameCount = header.get(3);
+        if (count < 0 || nameCount < 0) {
+            throw error("invalid header");
+        }
+        long column = 4L * count;
+        arrivals = map(HEADER_BYTES, column);
+        services = map(HEADER_BYTES + column, column);
+        nameIds = nameCount > 0 ? map(HEADER_BYTES + 2 * column, column) : null;
+        names = new String[nameCount];
+        if (nameCount > 0) {
+            long at = HEADER_BYTES + 3 * column;
+            ByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, at, channel.size() - at).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < nameCount; i++) {
+                int length = table.remaining() >= 4 ? table.getInt() : -1;
+                if (length < 0 || length > table.remaining()) {
+                    throw error("truncated name table");
+                }
+                byte[] bytes = new byte[length];
+                table.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    // Opens a binary workload file
+    static BinaryWorkload open(String path) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(path));
+        try {
+            return new BinaryWorkload(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // True if the file is a binary workload rather than a text one; standard input ("-") is always text
+    static boolean detect(String path) throws IOException {
+        if ("-".equals(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(path))) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Short reads only happen on special files
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    // Writes a process table in the binary format
+    static void write(ProcessTable table, Path path) throws IOException {
+        List<String> names = new ArrayList<>();
+        int[] nameId = null;
+        if (table.name != null) {
+            Map<String, Integer> ids = new HashMap<>();
+            nameId = new int[table.size];
+            for (int i = 0; i < table.size; i++) {
+                String name = table.name[i];
+                Integer id = name == null ? Integer.valueOf(-1) : ids.get(name);
+                if (id == null) {
+                    id = names.size();
+                    ids.put(name, id);
+                    names.add(name);
+                }
+                nameId[i] = id;
+            }
+        }
+        try (BinaryWriter out = new BinaryWriter(path)) {
+            out.putInt(MAGIC).putInt(VERSION).putInt(table.size).putInt(names.size());
+            out.putInts(table.arrival, table.size).putInts(table.service, table.size);
+            if (!names.isEmpty()) {
+                out.putInts(nameId, table.size);
+                for (String name : names) {
+                    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                    out.putInt(bytes.length).putBytes(bytes);
+                }
+            }
+        }
+    }
+
+    // Number of processes in the workload
+    int size() {
+        return count;
+    }
+
+    // Reads the next process; returns false after the last one
+    boolean next() {
+        if (index + 1 >= count) {
+            return false;
+        }
+        index++;
+        arrival = arrivals.get(index);
+        service = services.get(index);
+        return true;
+    }
+
+    // Name of the process read by the last call to next()
+    String name() {
+        String name = nameIds != null ? name(nameIds.get(index)) : null;
+        return name != null ? name : "P" + (index + 1);
+    }
+
+    // Copies the whole workload into a process table, one bulk copy per column
+    ProcessTable toTable() {
+        int[] arrival = new int[Math.max(count, 1)];
+        int[] service = new int[arrival.length];
+        arrivals.duplicate().get(arrival, 0, count);
+        services.duplicate().get(service, 0, count);
+        String[] name = null;
+        if (nameIds != null) {
+            name = new String[arrival.length];
+            for (int i = 0; i < count; i++) {
+                name[i] = name(nameIds.get(i)); // Repeated names share one String
+            }
+        }
+        return new ProcessTable(name, arrival, service, count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String name(int id) {
+        if (id < -1 || id >= names.length) {
+            throw error("invalid name id " + id);
+        }
+        return id < 0 ? null : names[id];
+    }
+
+    // Read-only int view of the given bytes of the file
+    private IntBuffer map(long position, long bytes) throws IOException {
+        if (position + bytes > channel.size()) {
+            throw error("truncated file");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("binary workload: " + message);
+    }
+}
@@ -0,0 +1,958 @@
+package cpuscheduler;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+public class CPUSchedulingSimulator {
+
+    // Report kinds, the values accepted by --output (interactive mode picks trace or stats from a menu)
+    static final String TRACE = "trace";
+    static final String SHOW_STATISTICS = "stats";
+    static final String WORKLOAD = "workload";
+    static final String SUMMARY = "summary";
+
+    // Per-run process scheduling data. Each simulator instance is the context of one run, so several
+    // runs can execute concurrently; the process table is only read and can be shared between them.
+    private final int last_instant;
+    private final int process_count;
+
+    private final ProcessTable processes; // Process names, arrival times and service times, one column each
+    private final boolean recordTimeline; // False when only statistics are needed
+    private ExecutionTimeline timeline; // Run intervals of each process, the timeline of process execution
+    private long decisions; // Scheduling decisions (dispatches) made by the last run
+    private int cpus = 1;   // Number of simulated cores, see MultiCoreScheduler
+    private boolean steal;  // Work stealing between cores
+    private long[] coreBusy; // Busy time of each core in the last multi-CPU run
+    private boolean collectMetrics; // Instrument the runs, see SchedulerMetrics
+    private SchedulerMetrics metrics; // Metrics of the last run, null when not collected
+    private RunStatistics statistics; // Aggregate statistics of the last run, null when the results columns are kept
+    private ResultCache cache; // Results of earlier runs, null to always simulate
+
+    // Part of the timeline the trace output shows, see traceWindow()
+    private long traceFrom = 0;
+    private long traceTo = -1;   // -1 up to last_instant
+    private int traceStep = 1;   // Ticks per column
+    private boolean[] traced;    // Processes shown, null for all
+
+    // Results columns, indexed like the process table; null for runs that only keep RunStatistics
+    private final int[] finishTime;     // Stores the finish time for each process
+    private final int[] turnAroundTime; // Stores the turnaround time for each process
+    private final float[] normTurn;     // Stores the normalized turnaround time for each process
+    private final int[] firstRun;       // Time each process first ran, which gives its response time
+
+    // Array of algorithm names for printing statistics
+    static final String[] ALGORITHMS = {"", "FCFS", "RR-", "SPN", "SRT", "HRRN", "FB-1", "FB-2i", "AGING"};
+
+    // Algorithm ids, the index of each algorithm in ALGORITHMS
+    static final int FCFS = 1, RR = 2, SPN = 3, SRT = 4, HRRN = 5, FB_1 = 6, FB_2I = 7, AGING = 8;
+
+    // Algorithm id for each entry of the interactive menu
+    private static final int[] MENU = {0, FCFS, RR, SPN, SRT, HRRN, AGING, FB_1, FB_2I};
+
+    // Helper functions to get process attributes from the process table columns
+    private int getArrivalTime(int i) { return processes.arrival[i]; }
+    private int getServiceTime(int i) { return processes.service[i]; }
+    private String getProcessName(int i) { return processes.name(i); }
+
+    // Event helpers shared by all algorithms.
+    // Time never advances one tick at a time: it jumps from one event (arrival, completion,
+    // quantum expiry, preemption point) straight to the next one.
+
+    // Arrival time of the next process in arrival order, or Integer.MAX_VALUE if none is left
+    private int nextArrival(int[] order, int next) {
+        return next < order.length ? getArrivalTime(order[next]) : Integer.MAX_VALUE;
+    }
+
+    // Records a dispatch: the process ran ('*') over [from, to); waiting ('.') is derived when rendering.
+    // ready is the number of ready processes, the dispatched one included, and is only used for metrics;
+    // first is set on the first run of the process, which gives its response time.
+    private void markRunning(int idx, int from, int to, int ready, boolean first) {
+        decisions++;
+        if (recordTimeline) {
+            timeline.run(idx, from, to);
+        }
+        if (metrics != null) {
+            metrics.dispatch(idx, from, to, ready);
+        }
+        if (first) {
+            if (statistics != null) {
+                statistics.started(getArrivalTime(idx), from);
+            } else {
+                firstRun[idx] = from;
+            }
+        }
+    }
+
+    // Records finish, turnaround and normalized turnaround time for a completed process
+    private void complete(int idx, int time) {
+        if (metrics != null) {
+            metrics.finished(idx);
+        }
+        if (statistics != null) {
+            statistics.completed(getArrivalTime(idx), getServiceTime(idx), time);
+            return;
+        }
+        finishTime[idx] = time;
+        turnAroundTime[idx] = time - getArrivalTime(idx);
+        normTurn[idx] = (float) (turnAroundTime[idx] * 1.0 / getServiceTime(idx));
+    }
+
+    // Event engine shared by all single-CPU algorithms: admits arrivals, asks the policy for the next
+    // process and the length of its slice, and records every run and completion. Arrivals during a slice
+    // are admitted before the preempted process goes back to the policy, so it queues behind them.
+    // The engine checks what a policy answers, so a faulty custom policy fails instead of corrupting the run.
+    private void schedule(SchedulingPolicy policy) {
+        int[] order = processes.arrivalOrder();
+        ProcessColumns columns = new ProcessColumns(processes.arrival, processes.service, process_count);
+        int[] remaining = columns.remaining; // Remaining service time for each process
+        BitSet ready = new BitSet(process_count); // Processes the policy holds as ready
+        int time = 0, completed = 0, next = 0; // Current time, completed processes, next arrival in arrival order
+        policy.start(columns);
+
+        // Loop until all processes are completed
+        while (completed < process_count) {
+            // Admit processes that have arrived by now
+            while (nextArrival(order, next) <= time) {
+                ready.set(order[next]);
+                policy.arrived(order[next++], time);
+            }
+
+            int idx = SchedulingPolicies.dispatched(policy, policy.dispatch(time), ready);
+            if (idx < 0) {
+                if (next == process_count) {
+                    throw new IllegalStateException(policy.name() + " dispatched nothing with " + (process_count - completed) + " processes left");
+                }
+                time = nextArrival(order, next); // No process is ready, jump to the next arrival
+                continue;
+            }
+            int left = remaining[idx];
+            long horizon = next < process_count ? nextArrival(order, next) : Long.MAX_VALUE;
+            int run = SchedulingPolicies.sliced(policy, policy.slice(idx, time, left, horizon), left);
+            markRunning(idx, time, time + run, metrics != null ? policy.waiting() + 1 : 0, left == getServiceTime(idx));
+            time += run;
+            remaining[idx] = left - run;
+
+            if (run == left) {
+                policy.completed(idx, time);
+                complete(idx, time);
+                completed++;
+            } else {
+                // Admit the processes that arrived while it ran, ahead of it
+                while (nextArrival(order, next) <= time) {
+                    ready.set(order[next]);
+                    policy.arrived(order[next++], time);
+                }
+                ready.set(idx);
+                policy.expired(idx, time, left - run);
+            }
+        }
+    }
+
+    // Tracing Function: printTimeline
+    // This function prints the timeline of process execution, showing which process is running ('*') or waiting ('.') at each time instant.
+    // Rows are rendered one process at a time and streamed through the writer's buffer; only the window set by
+    // traceWindow() is rendered, and a downsampled column shows the state that filled most of its ticks.
+    private void printTimelineOutput(ReportWriter out) {
+        long to = traceTo < 0 ? last_instant : traceTo;
+        int columns = (int) ((to - traceFrom + traceStep - 1) / traceStep);
+        if (traceStep > 1) {
+            out.print("Ticks ").print(traceFrom, 0).print(" to ").print(to, 0).print(", ").print(traceStep, 0).println(" per column");
+        }
+        // Prints the time instants (0-9 repeating), or the column numbers when downsampled
+        for (int i = 0; i <= columns; i++)
+            out.print((char) ('0' + (traceStep > 1 ? i : traceFrom + i) % 10)).print(' ');
+        out.print('\n').println("------------------------------------------------");
+
+        // Iterates through each process
+        char[] row = new char[columns];
+        for (int i = 0; i < process_count; i++) {
+            if (traced != null && !traced[i]) {
+                continue;
+            }
+            // Prints the process name
+            out.print(getProcessName(i)).print("     |");
+            // Prints the state of the process at each time instant
+            timeline.renderRow(i, getArrivalTime(i), finishTime[i], row, traceFrom, columns, traceStep, cpus > 1);
+            for (int j = 0; j < columns; j++) {
+                out.print(row[j]).print('|');
+            }
+            out.println(" ");
+        }
+        out.println("------------------------------------------------");
+    }
+
+    // Limits the trace output to the ticks [from, to) (to = -1 for the whole run), rendered step ticks per
+    // column, and to the named processes (null for all). A window is cut at the end of the trace.
+    void traceWindow(long from, long to, int step, String[] processNames) {
+        if (to >= 0) {
+            long end = traceEnd(processes);
+            if (from > end) {
+                throw new IllegalArgumentException("The window starts at " + from + ", after the trace ends at " + end);
+            }
+            to = Math.min(to, end);
+        }
+        traceFrom = from;
+        traceTo = to;
+        traceStep = step;
+        traced = null;
+        if (processNames != null) {
+            Set<String> names = new HashSet<>(Arrays.asList(processNames));
+            Set<String> unknown = new HashSet<>(names);
+            traced = new boolean[process_count];
+            for (int i = 0; i < process_count; i++) {
+                String name = getProcessName(i);
+                traced[i] = names.contains(name);
+                unknown.remove(name);
+            }
+            if (!unknown.isEmpty()) {
+                throw new IllegalArgumentException("Unknown processes " + unknown);
+            }
+        }
+    }
+
+    // Last tick a trace of the workload can show: last_instant, or the end of the run when the processes
+    // queue up past it. Every algorithm keeps a CPU busy while processes wait, so no run outlasts the
+    // single-CPU one that serves them in arrival order.
+    static long traceEnd(ProcessTable table) {
+        long end = 0;
+        long last = 0;
+        for (int idx : table.arrivalOrder()) {
+            end = Math.max(end, table.arrival[idx]) + table.service[idx];
+            last = Math.max(last, table.arrival[idx] + table.service[idx]);
+        }
+        return Math.max(end, last + 10);
+    }
+
+    // Statistics Functions
+
+    // printAlgorithm: Prints the name of the current scheduling algorithm.
+    private static void printAlgorithm(ReportWriter out, String name) {
+        out.println(name);
+    }
+
+    // printProcesses: Prints the names of all processes.
+    private void printProcesses(ReportWriter out) {
+        out.print("Process    ");
+        for (int i = 0; i < process_count; i++)
+            out.print("|  ").print(getProcessName(i)).print("  ");
+        out.println("|");
+    }
+
+    // printArrivalTime: Prints the arrival time for each process.
+    private void printArrivalTime(ReportWriter out) {
+        out.print("Arrival    ");
+        for (int i = 0; i < process_count; i++)
+            out.print('|').print(getArrivalTime(i), 3).print("  ");
+        out.println("|");
+    }
+
+    // printServiceTime: Prints the service time for each process and calculates the mean service time.
+    private void printServiceTime(ReportWriter out) {
+        out.print("Service    |");
+        for (int i = 0; i < process_count; i++)
+            out.print(getServiceTime(i), 3).print("  |");
+        out.println(" Mean|");
+    }
+
+    // printFinishTime: Prints the finish time for each process.
+    private void printFinishTime(ReportWriter out) {
+        out.print("Finish     ");
+        for (int i = 0; i < process_count; i++)
+            out.print('|').print(finishTime[i], 3).print("  ");
+        out.println("|-----|");
+    }
+
+    // printTurnAroundTime: Prints the turnaround time for each process and calculates the mean turnaround time.
+    private void printTurnAroundTime(ReportWriter out) {
+        out.print("Turnaround |");
+        long sum = 0;
+        for (int i = 0; i < process_count; i++) {
+            out.print(turnAroundTime[i], 3).print("  |");
+            sum += turnAroundTime[i];
+        }
+        if ((1.0 * sum / process_count) >= 10)
+            out.printf("%2.2f|\n", (1.0 * sum / process_count));
+        else
+            out.printf(" %2.2f|\n", (1.0 * sum / process_count));
+    }
+
+    // printNormTurn: Prints the normalized turnaround time for each process and calculates the mean normalized turnaround time.
+    private void printNormTurn(ReportWriter out) {
+        out.print("NormTurn   |");
+        float sum = 0;
+        for (int i = 0; i < process_count; i++) {
+            if (normTurn[i] >= 10)
+                out.printf("%2.2f|", normTurn[i]);
+            else
+                out.printf(" %2.2f|", normTurn[i]);
+            sum += normTurn[i];
+        }
+
+        if ((1.0 * sum / process_count) >= 10)
+            out.printf("%2.2f|\n", (1.0 * sum / process_count));
+        else
+            out.printf(" %2.2f|\n", (1.0 * sum / process_count));
+    }
+
+    // printStats: Orchestrates the printing of all statistical metrics.
+    private void printStatsOutput(ReportWriter out, String name) {
+        printAlgorithm(out, name);
+        printProcesses(out);
+        printArrivalTime(out);
+        printServiceTime(out);
+        printFinishTime(out);
+        printTurnAroundTime(out);
+        printNormTurn(out);
+        if (cpus > 1) {
+            printUtilization(out);
+        }
+    }
+
+    // printSummaryOutput: Prints the mean, percentiles and maximum of every statistic instead of one column per process.
+    private void printSummaryOutput(ReportWriter out, String name) {
+        printAlgorithm(out, name);
+        summaryStatistics().print(out, "");
+        if (cpus > 1) {
+            printUtilization(out);
+        }
+    }
+
+    // printJson: Prints the last run as one JSON object: the means, then the percentile summary or one entry
+    // per process, with its runs on the CPU ([start, end), plus the core with several) for the trace output.
+    private void printJson(ReportWriter out, String output, String name) {
+        out.print("{\"algorithm\":").printJson(name)
+                .print(",\"mean_turnaround\":").printJson(meanTurnAround())
+                .print(",\"mean_normturn\":").printJson(meanNormTurn())
+                .print(",\"last_finish\":").print(lastFinish(), 0);
+        if (output.equals(SUMMARY)) {
+            out.print(",\"statistics\":");
+            summaryStatistics().printJson(out);
+        } else {
+            out.print(",\"processes\":[");
+            for (int i = 0; i < process_count; i++) {
+                out.print(i == 0 ? "{\"name\":" : ",{\"name\":").printJson(getProcessName(i))
+                        .print(",\"arrival\":").print(getArrivalTime(i), 0)
+                        .print(",\"service\":").print(getServiceTime(i), 0)
+                        .print(",\"finish\":").print(finishTime[i], 0)
+                        .print(",\"turnaround\":").print(turnAroundTime[i], 0)
+                        .print(",\"normturn\":");
+                if (getServiceTime(i) > 0) {
+                    out.printQuotient(turnAroundTime[i], getServiceTime(i));
+                } else {
+                    out.print("null");
+                }
+                if (output.equals(TRACE)) {
+                    out.print(",\"runs\":[");
+                    for (int seg = timeline.firstSegment(i); seg >= 0; seg = timeline.nextSegment(seg)) {
+                        out.print(seg == timeline.firstSegment(i) ? "[" : ",[").print(timeline.start(seg), 0).print(',').print(timeline.end(seg), 0);
+                        if (cpus > 1) {
+                            out.print(',').print(timeline.core(seg), 0);
+                        }
+                        out.print(']');
+                    }
+                    out.print(']');
+                }
+                out.print('}');
+            }
+            out.print(']');
+        }
+        if (cpus > 1) {
+            out.print(",\"core_busy\":[");
+            for (int c = 0; c < cpus; c++) {
+                out.print(c == 0 ? "" : ",").print(coreBusy[c], 0);
+            }
+            out.print(']');
+        }
+        out.print('}');
+    }
+
+    // printUtilization: Prints the busy time of each core and its share of the time up to the last finish.
+    private void printUtilization(ReportWriter out) {
+        out.print("Core       |");
+        for (int c = 0; c < cpus; c++)
+            out.print(c, 3).print("  |");
+        out.println();
+        out.print("Busy       |");
+        for (int c = 0; c < cpus; c++)
+            out.print(coreBusy[c], 3).print("  |");
+        out.println();
+        out.print("Utilization|");
+        int last = lastFinish();
+        for (int c = 0; c < cpus; c++)
+            out.printf("%4.0f%%|", last == 0 ? 0.0 : 100.0 * coreBusy[c] / last);
+        out.println();
+    }
+
+
+    // Creates the context for one run over the workload and sizes the result columns and the displayed timeline
+    CPUSchedulingSimulator(ProcessTable table) {
+        this(table, true);
+    }
+
+    // Same, but runs only record the timeline needed for the trace output if recordTimeline is set
+    CPUSchedulingSimulator(ProcessTable table, boolean recordTimeline) {
+        this(table, recordTimeline, true);
+    }
+
+    // Same, and runs only keep RunStatistics instead of the per-process results columns if perProcess is not set
+    CPUSchedulingSimulator(ProcessTable table, boolean recordTimeline, boolean perProcess) {
+        this.recordTimeline = recordTimeline;
+        processes = table;
+        process_count = table.size;
+        finishTime = perProcess ? new int[process_count] : null;
+        turnAroundTime = perProcess ? new int[process_count] : null;
+        normTurn = perProcess ? new float[process_count] : null;
+        firstRun = perProcess ? new int[process_count] : null;
+
+        int last = 0;
+        for (int i = 0; i < process_count; i++) {
+            last = Math.max(last, getArrivalTime(i) + getServiceTime(i));
+        }
+        // Add some buffer to last_instant for timeline display
+        last_instant = last + 10;
+    }
+
+    // Simulates the given number of cores with per-core ready queues instead of a single CPU
+    void useCpus(int cpus, boolean steal) {
+        this.cpus = cpus;
+        this.steal = steal;
+    }
+
+    // Collects SchedulerMetrics for the following runs
+    void collectMetrics(boolean collect) {
+        collectMetrics = collect;
+    }
+
+    // Reuses the results cached for the following runs and caches new ones. Runs that collect metrics
+    // always simulate. The results columns must be kept, as they are what the cache stores.
+    void useCache(ResultCache resultCache) {
+        if (finishTime == null) {
+            throw new IllegalStateException("Cached runs need the per-process results");
+        }
+        cache = resultCache;
+    }
+
+    // Metrics of the last run, or null if they were not collected
+    SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    // Runs one algorithm on the loaded workload; returns false if the algorithm is not supported
+    boolean runAlgorithm(int algorithm_id, int quantum) {
+        if (cache == null || collectMetrics) {
+            return simulate(algorithm_id, quantum);
+        }
+        String key = ResultCache.key(processes, algorithm_id, quantum, cpus, steal);
+        ResultCache.Result cached = cache.load(key, process_count, recordTimeline);
+        if (cached != null) {
+            restore(cached.cpus, cached.finish, cached.firstRun, cached.timeline, cached.busy, cached.decisions);
+            return true;
+        }
+        if (!simulate(algorithm_id, quantum)) {
+            return false;
+        }
+        cache.store(key, process_count, cpus, finishTime, firstRun, coreBusy, timeline, decisions);
+        return true;
+    }
+
+    private boolean simulate(int algorithm_id, int quantum) {
+        if (SchedulingPolicies.of(algorithm_id, quantum) == null) {
+            return false;
+        }
+        runPolicy(() -> SchedulingPolicies.of(algorithm_id, quantum));
+        return true;
+    }
+
+    // Runs a scheduling policy, built-in or custom: one instance from policies on one CPU, one per core on
+    // several. Custom policies bypass the cache, as nothing identifies their schedule.
+    void runPolicy(Supplier<SchedulingPolicy> policies) {
+        if (cpus > 1) {
+            runMultiCore(policies);
+            return;
+        }
+        metrics = null;
+        statistics = finishTime == null ? new RunStatistics() : null;
+        timeline = recordTimeline ? new ExecutionTimeline(process_count) : null;
+        decisions = 0;
+        if (collectMetrics) {
+            metrics = new SchedulerMetrics();
+            metrics.start();
+        }
+        schedule(policies.get());
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+
+    private void runMultiCore(Supplier<SchedulingPolicy> policies) {
+        MultiCoreScheduler scheduler = new MultiCoreScheduler(processes, policies, cpus, steal, recordTimeline, collectMetrics);
+        scheduler.run();
+        restore(cpus, scheduler.finishTime, scheduler.firstRun, recordTimeline ? scheduler.timeline() : null, scheduler.busy(), scheduler.decisions());
+        metrics = scheduler.metrics();
+    }
+
+    // Takes the results of a run computed elsewhere: the finish and first run times of every process,
+    // its timeline (null if not recorded) and the busy time of each core (null for a single core)
+    private void restore(int runCpus, int[] finish, int[] first, ExecutionTimeline runTimeline, long[] busy, long runDecisions) {
+        metrics = null;
+        statistics = finishTime == null ? new RunStatistics() : null;
+        cpus = runCpus;
+        timeline = runTimeline;
+        coreBusy = busy;
+        decisions = runDecisions;
+        for (int i = 0; i < process_count; i++) {
+            if (statistics != null) {
+                statistics.started(getArrivalTime(i), first[i]);
+            } else {
+                firstRun[i] = first[i];
+            }
+            complete(i, finish[i]);
+        }
+    }
+
+    // Takes the results of a run recorded in a binary trace instead of simulating it
+    void replay(BinaryTrace trace) {
+        if (trace.processCount() != process_count) {
+            throw new IllegalArgumentException("The trace has " + trace.processCount() + " processes, the workload " + process_count);
+        }
+        ExecutionTimeline recorded = trace.timeline;
+        long[] busy = new long[trace.cpus];
+        for (int seg = 0; seg < recorded.segments(); seg++) {
+            busy[recorded.core(seg)] += recorded.end(seg) - recorded.start(seg);
+        }
+        int[] first = new int[process_count];
+        for (int i = 0; i < process_count; i++) {
+            // A process that never ran (no service time) was dispatched as it finished
+            int seg = recorded.firstSegment(i);
+            first[i] = seg >= 0 ? recorded.start(seg) : trace.finish[i];
+        }
+        restore(trace.cpus, trace.finish, first, recorded, busy, recorded.segments());
+    }
+
+    // Appends the timeline and finish times of the last run to a binary trace
+    private void writeTrace(BinaryTrace.Writer trace, int algorithm_id, int quantum) throws IOException {
+        trace.write(algorithm_id, quantum, cpus, finishTime, timeline);
+    }
+
+    // Aggregate statistics of the last run, computed from the results columns if the run kept them
+    private RunStatistics summaryStatistics() {
+        if (statistics != null) {
+            return statistics;
+        }
+        RunStatistics computed = new RunStatistics();
+        for (int i = 0; i < process_count; i++) {
+            computed.started(getArrivalTime(i), firstRun[i]);
+            computed.completed(getArrivalTime(i), getServiceTime(i), finishTime[i]);
+        }
+        return computed;
+    }
+
+    // Number of scheduling decisions made by the last run
+    long decisions() {
+        return decisions;
+    }
+
+    // Mean turnaround time of the last run
+    double meanTurnAround() {
+        if (statistics != null) {
+            return statistics.meanTurnAround();
+        }
+        long sum = 0;
+        for (int i = 0; i < process_count; i++) {
+            sum += turnAroundTime[i];
+        }
+        return 1.0 * sum / process_count;
+    }
+
+    // Mean normalized turnaround time of the last run
+    double meanNormTurn() {
+        if (statistics != null) {
+            return statistics.meanNormTurn();
+        }
+        double sum = 0;
+        for (int i = 0; i < process_count; i++) {
+            sum += normTurn[i];
+        }
+        return sum / process_count;
+    }
+
+    // Finish time of process idx in the last run; not kept by runs that only keep RunStatistics
+    int finishTime(int idx) {
+        return finishTime[idx];
+    }
+
+    // Time at which the last process of the last run finished
+    int lastFinish() {
+        if (statistics != null) {
+            return (int) statistics.lastFinish();
+        }
+        int last = 0;
+        for (int i = 0; i < process_count; i++) {
+            last = Math.max(last, finishTime[i]);
+        }
+        return last;
+    }
+
+    // Batch mode: runs every requested algorithm on a workload file and prints the reports
+    private static void runBatch(BatchOptions options) throws IOException {
+        if (options.serve >= 0) {
+            SimulationServer.start(options.serve, options.cache == null ? null : new ResultCache(Paths.get(options.cache), options.cacheBytes));
+            return;
+        }
+        // Binary output goes to --out, so the (empty) text report stays on stdout
+        boolean textOut = options.outFile == null || options.binary;
+        try (ReportWriter out = textOut ? ReportWriter.of(System.out) : ReportWriter.toFile(Paths.get(options.outFile))) {
+            if (options.online) {
+                runOnline(options, out);
+                return;
+            }
+            ProcessTable table;
+            if (options.generate >= 0) {
+                WorkloadGenerator generator = new WorkloadGenerator(options.generate, options.arrivals, options.service, options.seed);
+                if (options.output.equals(WORKLOAD) && !options.binary) {
+                    generator.write(out); // Stream the processes straight out, nothing is kept
+                    return;
+                }
+                table = generator.toTable();
+            } else {
+                table = WorkloadReader.readAll(options.workload);
+            }
+            if (options.output.equals(WORKLOAD)) {
+                // Conversion between the text and binary workload formats
+                if (options.binary) {
+                    BinaryWorkload.write(table, Paths.get(options.outFile));
+                } else {
+                    table.write(out);
+                }
+                return;
+            }
+            if (options.replay != null) {
+                replay(options, table, out);
+                return;
+            }
+            report(options, table, out, options.cache == null ? null : new ResultCache(Paths.get(options.cache), options.cacheBytes));
+        }
+    }
+
+    // Runs the requested simulations on a loaded workload and prints their reports; cache may be null.
+    // Shared by the batch mode and the requests of SimulationServer.
+    static void report(BatchOptions options, ProcessTable table, ReportWriter out, ResultCache cache) throws IOException {
+        if (table.size == 0) {
+            throw new IllegalArgumentException("The workload has no processes");
+        }
+        if (options.sweep) {
+            Sweep sweep = sweep(table, options.sweepFrom, options.sweepTo, options.sweepStep, options.cpus, options.steal, cache);
+            if (options.json) {
+                int[] algorithms = new int[sweep.quanta.length];
+                Arrays.fill(algorithms, RR);
+                printComparisonJson(out, sweep.results, algorithms, sweep.quanta);
+            } else {
+                printSweep(out, sweep);
+            }
+            return;
+        }
+        if (options.compare) {
+            Summary[] results = compare(table, options.algorithms, options.quanta, options.cpus, options.steal, cache);
+            if (options.json) {
+                printComparisonJson(out, results, options.algorithms, options.quanta);
+            } else {
+                printComparison(out, results, options.algorithms, options.quanta);
+            }
+            return;
+        }
+        CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table, options.output.equals(TRACE), !options.output.equals(SUMMARY) || cache != null);
+        simulator.traceWindow(options.traceFrom, options.traceTo, options.traceStep, options.traceProcesses);
+        simulator.useCpus(options.cpus, options.steal);
+        if (cache != null) {
+            simulator.useCache(cache);
+        }
+        simulator.collectMetrics(options.metrics != null);
+        // Metrics go to their own file, or after each report with "-"; a binary trace goes to --out
+        try (ReportWriter metricsOut = options.metrics == null || options.metrics.equals("-") ? null : ReportWriter.toFile(Paths.get(options.metrics));
+             BinaryTrace.Writer trace = options.binary ? new BinaryTrace.Writer(Paths.get(options.outFile), table.size) : null) {
+            // Custom policies are all loaded first, so a missing class fails before any report is printed
+            SchedulingPolicy[] policies = new SchedulingPolicy[options.policies != null ? options.policies.length : 0];
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] = SchedulingPolicies.load(options.policies[i]);
+            }
+            int runs = options.policies != null ? policies.length : options.algorithms.length;
+            for (int i = 0; i < runs; i++) {
+                String name;
+                if (options.policies != null) {
+                    String className = options.policies[i];
+                    simulator.runPolicy(() -> SchedulingPolicies.load(className));
+                    name = policies[i].name();
+                } else if (simulator.runAlgorithm(options.algorithms[i], options.quanta[i])) {
+                    name = algorithmName(options.algorithms[i], options.quanta[i]);
+                } else {
+                    throw new IllegalArgumentException(ALGORITHMS[options.algorithms[i]] + " is not supported");
+                }
+                if (trace != null) {
+                    simulator.writeTrace(trace, options.algorithms[i], options.quanta[i]);
+                } else {
+                    separate(out, options.json, i);
+                    simulator.printReport(out, options.output, options.json, name);
+                }
+                if (simulator.metrics() != null) {
+                    simulator.metrics().write(metricsOut != null ? metricsOut : out, name);
+                }
+            }
+            if (trace == null && options.json) {
+                out.println("]");
+            }
+        }
+    }
+
+    // Starts the report of the i-th run: text reports are separated by a blank line, JSON ones form an array
+    private static void separate(ReportWriter out, boolean json, int i) {
+        if (json) {
+            out.print(i == 0 ? "[" : ",").println();
+        } else if (i > 0) {
+            out.println();
+        }
+    }
+
+    // Name of an algorithm as printed in the reports, with the quantum for Round Robin
+    static String algorithmName(int algorithm_id, int quantum) {
+        return algorithm_id == RR ? ALGORITHMS[RR] + quantum : ALGORITHMS[algorithm_id];
+    }
+
+    // Prints the report of the last run, named name, in the given output format, as text or as one JSON object
+    private void printReport(ReportWriter out, String output, boolean json, String name) {
+        if (json) {
+            printJson(out, output, name);
+        } else if (output.equals(TRACE)) {
+            printAlgorithm(out, name);
+            printTimelineOutput(out);
+        } else if (output.equals(SUMMARY)) {
+            printSummaryOutput(out, name);
+        } else {
+            printStatsOutput(out, name);
+        }
+    }
+
+    // Replay mode: prints the reports of the runs recorded in a binary trace of the workload
+    private static void replay(BatchOptions options, ProcessTable table, ReportWriter out) throws IOException {
+        CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table, false, !options.output.equals(SUMMARY));
+        simulator.traceWindow(options.traceFrom, options.traceTo, options.traceStep, options.traceProcesses);
+        try (BinaryTrace trace = BinaryTrace.open(options.replay)) {
+            int runs = 0;
+            for (; trace.next(); runs++) {
+                simulator.replay(trace);
+                separate(out, options.json, runs);
+                simulator.printReport(out, options.output, options.json, algorithmName(trace.algorithm, trace.quantum));
+            }
+            if (options.json) {
+                out.println(runs == 0 ? "[]" : "]");
+            }
+        }
+    }
+
+    // Online mode: streams the processes through the scheduler without loading the workload
+    private static void runOnline(BatchOptions options, ReportWriter out) throws IOException {
+        boolean binary = options.generate < 0 && BinaryWorkload.detect(options.workload);
+        if (binary && options.follow) {
+            throw new IllegalArgumentException("--follow needs a text workload: binary columns cannot grow");
+        }
+        SchedulingPolicy policy = options.policies != null ? SchedulingPolicies.load(options.policies[0])
+                : SchedulingPolicies.of(options.algorithms[0], options.quanta[0]);
+        if (policy == null) {
+            throw new IllegalArgumentException(ALGORITHMS[options.algorithms[0]] + " is not supported");
+        }
+        OnlineScheduler scheduler = new OnlineScheduler(policy, out);
+        if (options.generate >= 0) {
+            WorkloadGenerator generator = new WorkloadGenerator(options.generate, options.arrivals, options.service, options.seed);
+            while (generator.next()) {
+                scheduler.arrive(generator.name(), generator.arrival, generator.service);
+            }
+        } else if (binary) {
+            try (BinaryWorkload workload = BinaryWorkload.open(options.workload)) {
+                while (workload.next()) {
+                    scheduler.arrive(workload.name(), workload.arrival, workload.service);
+                }
+            }
+        } else {
+            try (WorkloadReader reader = options.follow ? WorkloadReader.follow(options.workload) : WorkloadReader.open(options.workload)) {
+                reader.onWait(out::flush); // Completions so far are out before waiting for more input
+                while (reader.next()) {
+                    scheduler.arrive(reader.name, reader.arrival, reader.service);
+                }
+            }
+        }
+        scheduler.finish();
+    }
+
+    // Aggregate statistics of one run; the per-process result columns are dropped once it is taken
+    static class Summary {
+        final double meanTurnAround;
+        final double meanNormTurn;
+        final int lastFinish;
+
+        Summary(CPUSchedulingSimulator simulator) {
+            meanTurnAround = simulator.meanTurnAround();
+            meanNormTurn = simulator.meanNormTurn();
+            lastFinish = simulator.lastFinish();
+        }
+    }
+
+    // Comparison mode: runs every algorithm concurrently on a fork-join pool against the shared workload;
+    // cache may be null
+    static Summary[] compare(ProcessTable table, int[] algorithms, int[] quanta, int cpus, boolean steal, ResultCache cache) {
+        List<ForkJoinTask<Summary>> runs = new ArrayList<>(algorithms.length);
+        for (int i = 0; i < algorithms.length; i++) {
+            int algorithm_id = algorithms[i], quantum = quanta[i];
+            runs.add(ForkJoinPool.commonPool().submit(() -> {
+                CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table, false, cache != null);
+                simulator.useCpus(cpus, steal);
+                if (cache != null) {
+                    simulator.useCache(cache);
+                }
+                if (!simulator.runAlgorithm(algorithm_id, quantum)) {
+                    throw new IllegalArgumentException(ALGORITHMS[algorithm_id] + " is not supported");
+                }
+                return new Summary(simulator);
+            }));
+        }
+        Summary[] results = new Summary[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            results[i] = runs.get(i).join();
+        }
+        return results;
+    }
+
+    // Quantum sweep: runs Round Robin for every quantum in [from, to] in parallel, one run per quantum
+    static Sweep sweep(ProcessTable table, int from, int to, int step, int cpus, boolean steal, ResultCache cache) {
+        int runs = (to - from) / step + 1;
+        int[] algorithms = new int[runs];
+        int[] quanta = new int[runs];
+        for (int i = 0; i < runs; i++) {
+            algorithms[i] = RR;
+            quanta[i] = from + i * step;
+        }
+        return new Sweep(quanta, compare(table, algorithms, quanta, cpus, steal, cache));
+    }
+
+    // Results of a quantum sweep, one entry per quantum
+    static class Sweep {
+        final int[] quanta;
+        final Summary[] results;
+        int best = 0; // Entry with the lowest mean turnaround time
+
+        Sweep(int[] quanta, Summary[] results) {
+            this.quanta = quanta;
+            this.results = results;
+            for (int i = 0; i < quanta.length; i++) {
+                if (results[i].meanTurnAround < results[best].meanTurnAround) {
+                    best = i;
+                }
+            }
+        }
+    }
+
+    // printSweep: Prints the mean statistics of every quantum and marks the best one.
+    private static void printSweep(ReportWriter out, Sweep sweep) {
+        out.println("Algorithm  | Mean Turnaround | Mean NormTurn |");
+        for (int i = 0; i < sweep.quanta.length; i++) {
+            out.printf("%-11s|%16.2f |%14.2f |", ALGORITHMS[RR] + sweep.quanta[i], sweep.results[i].meanTurnAround, sweep.results[i].meanNormTurn);
+            out.println(i == sweep.best ? " <- best" : "");
+        }
+    }
+
+    // printComparison: Prints one row of aggregate statistics per algorithm.
+    private static void printComparison(ReportWriter out, Summary[] results, int[] algorithms, int[] quanta) {
+        out.println("Algorithm  | Mean Turnaround | Mean NormTurn | Last Finish |");
+        for (int i = 0; i < results.length; i++) {
+            String name = algorithms[i] == RR ? ALGORITHMS[RR] + quanta[i] : ALGORITHMS[algorithms[i]];
+            out.printf("%-11s|%16.2f |%14.2f |", name, results[i].meanTurnAround, results[i].meanNormTurn);
+            out.print(results[i].lastFinish, 12).println(" |");
+        }
+    }
+
+    // printComparisonJson: Prints the aggregate statistics of every algorithm as a JSON array.
+    private static void printComparisonJson(ReportWriter out, Summary[] results, int[] algorithms, int[] quanta) {
+        out.print('[');
+        for (int i = 0; i < results.length; i++) {
+            out.print(i == 0 ? "{\"algorithm\":" : ",{\"algorithm\":").printJson(algorithmName(algorithms[i], quanta[i]))
+                    .print(",\"mean_turnaround\":").printJson(results[i].meanTurnAround)
+                    .print(",\"mean_normturn\":").printJson(results[i].meanNormTurn)
+                    .print(",\"last_finish\":").print(results[i].lastFinish, 0).print('}');
+        }
+        out.println("]");
+    }
+
+    public static void main(String[] args) {
+        if (BatchOptions.requested(args)) {
+            try {
+                runBatch(BatchOptions.parse(args));
+            } catch (IllegalArgumentException | IOException e) {
+                System.err.println(e.getMessage());
+                System.err.println(BatchOptions.USAGE);
+                System.exit(1);
+            }
+            return;
+        }
+
+        Scanner scanner = new Scanner(System.in);
+
+        System.out.println("=========================================");
+        System.out.println(" CPU SCHEDULING SIMULATOR TOOL      ");
+        System.out.println(" (Supports FCFS, RR, SPN, SRT, HRRN, AGING, FB-1, FB-2i)");
+        System.out.println("=========================================\n");
+
+        System.out.print("Enter number of processes: ");
+        int count = scanner.nextInt();
+
+        ProcessTable table = new ProcessTable(count);
+        for (int i = 0; i < count; ++i) {
+            String name;
+            int arrival, service;
+            System.out.print("Enter name, arrival time, and service time for process " + (i + 1) + ": ");
+            name = scanner.next();
+            arrival = scanner.nextInt();
+            service = scanner.nextInt();
+            table.add(name, arrival, service);
+        }
+        CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table);
+
+        System.out.println("Choose Algorithm:\n1. FCFS\n2. RR\n3. SPN\n4. SRT\n5. HRRN\n6. AGING\n7. FB-1\n8. FB-2i\nEnter choice: ");
+        int choice = scanner.nextInt();
+
+        int quantum = -1; // Default quantum, only used for RR
+        if (choice == 2) { // Round Robin
+            System.out.print("Enter quantum for Round Robin: ");
+            quantum = scanner.nextInt();
+            if (quantum < 1) {
+                System.out.println("Invalid quantum: it must be at least 1.");
+                scanner.close();
+                return;
+            }
+        }
+
+        // Execute the chosen algorithm
+        if (choice < 1 || choice >= MENU.length || !simulator.runAlgorithm(MENU[choice], quantum)) {
+            System.out.println("Invalid algorithm choice.");
+            scanner.close();
+            return;
+        }
+
+        System.out.println("\nChoose Output Format:\n1. Trace\n2. Statistics\nEnter choice: ");
+        int outputChoice = scanner.nextInt();
+
+        ReportWriter out = ReportWriter.of(System.out);
+        if (outputChoice == 1) {
+            simulator.printTimelineOutput(out); // Call the new printTimelineOutput function
+            out.flush();
+        } else if (outputChoice == 2) {
+            simulator.printStatsOutput(out, algorithmName(MENU[choice], quantum)); // Call the new printStatsOutput function with the algorithm name
+            out.flush();
+        } else {
+            System.out.println("Invalid output choice.");
+        }
+
+        scanner.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package cpuscheduler;
+
+// Execution history stored as run-length intervals instead of a time x process grid.
+// Each run of a process on the CPU is one [start, end) segment, chained per process in time order,
+// so memory grows with the number of context switches rather than with time x processes.
+// Waiting ('.') is never stored: a process waits whenever it has arrived, is not finished and is not running.
+// In multi-CPU runs every segment also records the core it ran on.
+class ExecutionTimeline {
+    private int[] start;   // Start of each segment
+    private int[] end;     // End (exclusive) of each segment
+    private int[] nextSeg; // Next segment of the same process, -1 for the last one
+    private int[] cpu;     // Core each segment ran on
+    private int segments = 0;
+
+    private final int[] first; // First segment of each process, -1 if it never ran
+    private final int[] last;  // Last segment of each process, -1 if it never ran
+
+    // Per-process index for windowed rendering, built on first use: the segments of process i are
+    // indexed[offset[i], offset[i + 1]) in time order, so the first one in a window is a binary search away
+    private int[] offset;
+    private int[] indexed;
+
+    // Scratch columns of a downsampled row: running ticks per column, and the core with the longest run
+    private long[] runTicks = new long[0];
+    private long[] longestRun = new long[0];
+    private int[] longestCore = new int[0];
+
+    ExecutionTimeline(int processCount) {
+        int capacity = Math.max(processCount, 16);
+        start = new int[capacity];
+        end = new int[capacity];
+        nextSeg = new int[capacity];
+        cpu = new int[capacity];
+        first = new int[processCount];
+        last = new int[processCount];
+        java.util.Arrays.fill(first, -1);
+        java.util.Arrays.fill(last, -1);
+    }
+
+    // Records that the process ran over [from, to); runs must be recorded in time order per process
+    void run(int idx, int from, int to) {
+        run(idx, from, to, 0);
+    }
+
+    // Same, on the given core of a multi-CPU run
+    void run(int idx, int from, int to, int core) {
+        if (from >= to) {
+            return;
+        }
+        offset = null;
+        int tail = last[idx];
+        if (tail >= 0 && end[tail] == from && cpu[tail] == core) {
+            end[tail] = to; // Extend a run that continues without a switch
+            return;
+        }
+        if (segments == start.length) {
+            int capacity = segments * 2;
+            start = java.util.Arrays.copyOf(start, capacity);
+            end = java.util.Arrays.copyOf(end, capacity);
+            nextSeg = java.util.Arrays.copyOf(nextSeg, capacity);
+            cpu = java.util.Arrays.copyOf(cpu, capacity);
+        }
+        int seg = segments++;
+        start[seg] = from;
+        end[seg] = to;
+        nextSeg[seg] = -1;
+        cpu[seg] = core;
+        if (tail >= 0) {
+            nextSeg[tail] = seg;
+        } else {
+            first[idx] = seg;
+        }
+        last[idx] = seg;
+    }
+
+    // Fills row[0, width) with the state of the process at each instant: '*' running,
+    // '.' waiting, ' ' not yet arrived or already finished. With showCores, a running instant shows the
+    // core instead of '*': 0-9, then a-z, then '#' for any higher core.
+    void renderRow(int idx, int arrival, int finish, char[] row, int width, boolean showCores) {
+        renderRow(idx, arrival, finish, row, 0, width, 1, showCores);
+    }
+
+    // Same over a window: column c covers the ticks [from + c * step, from + (c + 1) * step) and shows the
+    // state the process spent most of them in (ties go to running, then waiting); a running column shows
+    // the core of the longest run in it. Only the segments overlapping the window are visited.
+    void renderRow(int idx, int arrival, int finish, char[] row, long from, int columns, int step, boolean showCores) {
+        if (runTicks.length < columns) {
+            runTicks = new long[columns];
+            longestRun = new long[columns];
+            longestCore = new int[columns];
+        }
+        java.util.Arrays.fill(runTicks, 0, columns, 0);
+        java.util.Arrays.fill(longestRun, 0, columns, 0);
+        long to = from + (long) columns * step;
+        for (int seg = firstEndingAfter(idx, from); seg >= 0 && start[seg] < to; seg = nextSeg[seg]) {
+            long t = Math.max(start[seg], from);
+            long segEnd = Math.min(end[seg], to);
+            while (t < segEnd) {
+                int c = (int) ((t - from) / step);
+                long ticks = Math.min(segEnd, from + (long) (c + 1) * step) - t;
+                runTicks[c] += ticks;
+                if (ticks > longestRun[c]) {
+                    longestRun[c] = ticks;
+                    longestCore[c] = cpu[seg];
+                }
+                t += ticks;
+            }
+        }
+        for (int c = 0; c < columns; c++) {
+            long bucketStart = from + (long) c * step;
+            long present = Math.max(0, Math.min(bucketStart + step, finish) - Math.max(bucketStart, arrival));
+            long running = runTicks[c];
+            long waiting = Math.max(0, present - running);
+            long absent = step - Math.max(present, running);
+            if (running > 0 && running >= waiting && running >= absent) {
+                row[c] = showCores ? coreMark(longestCore[c]) : '*';
+            } else {
+                row[c] = waiting > 0 && waiting >= absent ? '.' : ' ';
+            }
+        }
+    }
+
+    // First segment of the process that ends after the given time, -1 if none
+    private int firstEndingAfter(int idx, long time) {
+        if (time <= 0) {
+            return first[idx];
+        }
+        if (offset == null) {
+            buildIndex();
+        }
+        int lo = offset[idx], hi = offset[idx + 1];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (end[indexed[mid]] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < offset[idx + 1] ? indexed[lo] : -1;
+    }
+
+    private void buildIndex() {
+        int[] index = new int[segments];
+        int[] offsets = new int[first.length + 1];
+        int k = 0;
+        for (int idx = 0; idx < first.length; idx++) {
+            offsets[idx] = k;
+            for (int seg = first[idx]; seg >= 0; seg = nextSeg[seg]) {
+                index[k++] = seg;
+            }
+        }
+        offsets[first.length] = k;
+        indexed = index;
+        offset = offsets;
+    }
+
+    // Segment accessors, e.g. for writing the segments out: the segments of process idx are
+    // firstSegment(idx), then nextSegment(seg) until -1, in time order
+    int segments() {
+        return segments;
+    }
+
+    int firstSegment(int idx) {
+        return first[idx];
+    }
+
+    int nextSegment(int seg) {
+        return nextSeg[seg];
+    }
+
+    int start(int seg) {
+        return start[seg];
+    }
+
+    int end(int seg) {
+        return end[seg];
+    }
+
+    int core(int seg) {
+        return cpu[seg];
+    }
+
+    private static char coreMark(int core) {
+        return core < 10 ? (char) ('0' + core) : core < 36 ? (char) ('a' + core - 10) : '#';
+    }
+}
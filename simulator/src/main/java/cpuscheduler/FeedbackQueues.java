@@ -0,0 +1,75 @@
+package cpuscheduler;
+
+// Ready structure for the multilevel feedback algorithms: one FIFO of process indices per priority
+// level (level 0 is the highest) plus a bitmap of the non-empty levels, so the next process is found
+// with two find-first-set operations instead of a scan over the levels.
+// The FIFOs are intrusive singly linked lists threaded through one link per process, since a process
+// sits in at most one level at a time; memory is O(processes + levels) however deep processes sink.
+// The links grow (doubling) when a process index beyond the capacity is added.
+// Processes demoted past the last level stay in it, which then behaves as plain Round Robin.
+class FeedbackQueues {
+    static final int LEVELS = 64 * 64; // Two-level bitmap: one summary word over 64 words of 64 levels
+
+    private final int[] head = new int[LEVELS]; // First process of each level, -1 if empty
+    private final int[] tail = new int[LEVELS]; // Last process of each level
+    private int[] link;                         // Next process in the same level, -1 for the last
+    private final long[] nonEmpty = new long[LEVELS / 64]; // Bit l % 64 of word l / 64 set if level l is non-empty
+    private long summary = 0;                   // Bit w set if word w of nonEmpty is non-zero
+    private int size = 0;
+
+    FeedbackQueues(int capacity) {
+        link = new int[capacity];
+        java.util.Arrays.fill(head, -1);
+    }
+
+    // Quantum of a level: 1 everywhere for FB-1, 2^level for FB-2i
+    static long quantum(int level, boolean doubling) {
+        return doubling ? 1L << Math.min(level, 62) : 1;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Appends a process to the given level, clamped to the last one
+    void add(int level, int idx) {
+        level = Math.min(level, LEVELS - 1);
+        if (idx >= link.length) {
+            link = java.util.Arrays.copyOf(link, Math.max(idx + 1, 2 * link.length));
+        }
+        link[idx] = -1;
+        if (head[level] < 0) {
+            head[level] = idx;
+            nonEmpty[level >>> 6] |= 1L << level;
+            summary |= 1L << (level >>> 6);
+        } else {
+            link[tail[level]] = idx;
+        }
+        tail[level] = idx;
+        size++;
+    }
+
+    // Highest priority (lowest) non-empty level; the structure must not be empty
+    int topLevel() {
+        int word = Long.numberOfTrailingZeros(summary);
+        return word << 6 | Long.numberOfTrailingZeros(nonEmpty[word]);
+    }
+
+    // Removes and returns the first process of the given non-empty level
+    int poll(int level) {
+        int idx = head[level];
+        head[level] = link[idx];
+        if (head[level] < 0) {
+            nonEmpty[level >>> 6] &= ~(1L << level);
+            if (nonEmpty[level >>> 6] == 0) {
+                summary &= ~(1L << (level >>> 6));
+            }
+        }
+        size--;
+        return idx;
+    }
+}
@@ -0,0 +1,47 @@
+package cpuscheduler;
+
+// FIFO of process indices backed by an int ring buffer that doubles when it is full, so
+// enqueueing and dequeueing never box and only allocate while the queue grows.
+class IntQueue {
+    private int[] items;
+    private int head = 0;
+    private int size = 0;
+
+    IntQueue(int capacity) {
+        items = new int[Math.max(capacity, 1)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int idx) {
+        if (size == items.length) {
+            grow();
+        }
+        int tail = head + size;
+        items[tail < items.length ? tail : tail - items.length] = idx;
+        size++;
+    }
+
+    int poll() {
+        int idx = items[head];
+        head = head + 1 < items.length ? head + 1 : 0;
+        size--;
+        return idx;
+    }
+
+    // Doubles the buffer, unwrapping the queue to its start
+    private void grow() {
+        int[] bigger = new int[items.length * 2];
+        int first = items.length - head;
+        System.arraycopy(items, head, bigger, 0, first);
+        System.arraycopy(items, 0, bigger, first, head);
+        items = bigger;
+        head = 0;
+    }
+}
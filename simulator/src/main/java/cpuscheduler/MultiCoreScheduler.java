@@ -0,0 +1,406 @@
+package cpuscheduler;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Multi-CPU (SMP) run of one scheduling policy: every core has its own ready queue, kept by its own
+// instance of the SchedulingPolicy, the way a per-CPU run queue scheduler does.
+// An arriving process is placed on the core with the least outstanding work (ties to the lowest core).
+// With work stealing, a core that runs out of work takes the next process from the core with the
+// longest ready queue.
+//
+// Cores only interact at synchronization points: arrival instants (placement reads every core's load)
+// and, with stealing, the instants at which a core drains (the built-in policies are work conserving, so
+// a core with outstanding work L at time t drains at exactly t + L unless something new is placed on it;
+// for a policy that idles, that instant is merely one more synchronization point).
+// Between two synchronization points each core advances on its own, so the cores are simulated in
+// parallel on the common fork-join pool, once the intervals carry enough work to pay for the fork and
+// join; a run whose arrivals come densely, with a few decisions per interval, stays on one thread.
+class MultiCoreScheduler {
+    private static final int INITIAL_SLOTS = 64;         // Slots per core before the first growth
+    private static final int PARALLEL_DECISIONS = 4096;  // Decisions an interval needs to be run in parallel
+    private final int[] arrival; // Arrival and service columns of the process table, only read
+    private final int[] service;
+    private final int[] order;   // Process indices in arrival order
+    private final boolean steal;
+    private final boolean recordTimeline;
+    private final Core[] cores;
+    private final boolean parallel; // False when the host has a single worker thread to offer
+    private final SchedulerMetrics metrics; // Wall clock of the whole run and, once it ends, the counters of all cores; null without metrics
+
+    // Results, indexed like the process table; each process completes on exactly one core,
+    // so the cores write disjoint entries
+    final int[] finishTime;
+    final int[] firstRun; // Time each process was first dispatched
+
+    // policies gives a new policy instance for every core
+    MultiCoreScheduler(ProcessTable table, Supplier<SchedulingPolicy> policies, int cpus, boolean steal, boolean recordTimeline, boolean collectMetrics) {
+        arrival = table.arrival;
+        service = table.service;
+        order = table.arrivalOrder();
+        this.steal = steal;
+        this.recordTimeline = recordTimeline;
+        finishTime = new int[table.size];
+        firstRun = new int[table.size];
+        metrics = collectMetrics ? new SchedulerMetrics() : null;
+        cores = new Core[cpus];
+        for (int c = 0; c < cpus; c++) {
+            cores[c] = new Core(c, policies.get());
+        }
+        parallel = cpus > 1 && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    // Runs the workload to completion
+    void run() {
+        if (metrics != null) {
+            metrics.start();
+            for (Core core : cores) {
+                core.metrics.start(); // Latency of a core's first decision counts from the start of the run
+            }
+        }
+        simulate();
+        if (metrics != null) {
+            metrics.stop();
+            for (Core core : cores) {
+                metrics.merge(core.metrics);
+            }
+        }
+    }
+
+    private void simulate() {
+        int next = 0;
+        long now = 0;
+        long done = 0;           // Decisions made up to now
+        boolean heavy = false;   // True if the last interval made enough decisions to go parallel
+        while (true) {
+            // Synchronization point: place the processes arriving now, then put back the processes
+            // whose slice expired exactly now, after them, as the single-CPU algorithms do
+            while (next < order.length && arrival[order[next]] <= now) {
+                int idx = order[next++];
+                leastLoaded().place(idx, service[idx], 0);
+            }
+            for (Core core : cores) {
+                core.requeuePreempted();
+            }
+            if (steal) {
+                balance();
+            }
+
+            long horizon = next < order.length ? arrival[order[next]] : Long.MAX_VALUE;
+            if (steal && anyStealable()) {
+                for (Core core : cores) {
+                    if (core.load > 0) {
+                        horizon = Math.min(horizon, now + core.load);
+                    }
+                }
+            }
+
+            // The work of an interval is not known before it is run, but consecutive intervals are alike;
+            // the last one, which drains every core, makes at least one decision per live process
+            final long until = horizon;
+            boolean running = anyRunning();
+            if (parallel && (heavy || until == Long.MAX_VALUE && live() >= PARALLEL_DECISIONS)) {
+                IntStream.range(0, cores.length).parallel().forEach(c -> cores[c].advance(until));
+            } else {
+                for (Core core : cores) {
+                    core.advance(until);
+                }
+            }
+            if (horizon == Long.MAX_VALUE) {
+                return;
+            }
+            long made = decisions();
+            if (made == done && next == order.length && !running) {
+                // Only reached with stealing: no core ran or dispatched anything, so the next interval
+                // would find the cores just as they are
+                throw new IllegalStateException(cores[0].policy.name() + " dispatched nothing with " + live() + " processes left");
+            }
+            heavy = made - done >= PARALLEL_DECISIONS;
+            done = made;
+            now = horizon;
+        }
+    }
+
+    // Core with the least outstanding work, the lowest one on ties
+    private Core leastLoaded() {
+        Core best = cores[0];
+        for (Core core : cores) {
+            if (core.load < best.load) {
+                best = core;
+            }
+        }
+        return best;
+    }
+
+    // Processes placed on some core and not finished yet
+    private long live() {
+        long live = 0;
+        for (Core core : cores) {
+            live += core.live();
+        }
+        return live;
+    }
+
+    // True if some core has a process on the CPU
+    private boolean anyRunning() {
+        for (Core core : cores) {
+            if (core.running >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean anyStealable() {
+        for (Core core : cores) {
+            if (core.stealable() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Lets every idle core steal one process from the core with the longest ready queue, never the
+    // one a core is about to dispatch itself
+    private void balance() {
+        for (Core thief : cores) {
+            if (!thief.idle()) {
+                continue;
+            }
+            Core victim = null;
+            for (Core core : cores) {
+                if (core.stealable() > 0 && (victim == null || core.stealable() > victim.stealable())) {
+                    victim = core;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            thief.steal(victim);
+        }
+    }
+
+    // Scheduling decisions (dispatches) made on all cores
+    long decisions() {
+        long sum = 0;
+        for (Core core : cores) {
+            sum += core.decisions;
+        }
+        return sum;
+    }
+
+    // Metrics of all cores together once the run ended, null if they were not collected
+    SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    // Time each core spent running processes
+    long[] busy() {
+        long[] busy = new long[cores.length];
+        for (int c = 0; c < cores.length; c++) {
+            busy[c] = cores[c].busy;
+        }
+        return busy;
+    }
+
+    // Merges the per-core run intervals into one timeline, each run tagged with its core.
+    // Every core's runs are already in time order, so the merge takes the earliest head each time;
+    // a process never runs on two cores at once, so it gets its runs in time order.
+    ExecutionTimeline timeline() {
+        ExecutionTimeline timeline = new ExecutionTimeline(finishTime.length);
+        int[] head = new int[cores.length];
+        while (true) {
+            Core first = null;
+            for (Core core : cores) {
+                if (head[core.id] < core.segments
+                        && (first == null || core.segStart[head[core.id]] < first.segStart[head[first.id]])) {
+                    first = core;
+                }
+            }
+            if (first == null) {
+                return timeline;
+            }
+            int s = head[first.id]++;
+            timeline.run(first.segProc[s], first.segStart[s], first.segEnd[s], first.id);
+        }
+    }
+
+    // One CPU: its policy and the slots of its processes, its clock and the process it is running
+    private final class Core {
+        final int id;
+        private final SchedulingPolicy policy;
+
+        // Slot columns of the processes on this core, their rank being their process index. A slot is handed
+        // out when a process is placed on (or stolen by) the core and returned when the process completes or
+        // is stolen, so the columns only grow to the core's peak number of live processes.
+        private final ProcessColumns columns;
+        private final BitSet ready = new BitSet(); // Slots the policy holds as ready
+        private int[] free;      // Stack of free slots
+        private int freeCount = 0;
+
+        private long time = 0;       // Core clock; every core reaches the same synchronization points
+        private int running = -1;    // Slot on the CPU, -1 when idle
+        private long sliceStart, sliceEnd; // Current slice of the running process
+        private int preempted = -1;  // Slot whose slice expired at the last synchronization point
+        long load = 0;               // Outstanding work: remaining service of the running and waiting processes
+        long busy = 0;
+        long decisions = 0;
+        final SchedulerMetrics metrics; // Counters of this core, null without metrics
+
+        // Run intervals of this core, in time order
+        private int[] segStart, segEnd, segProc;
+        private int segments = 0;
+
+        Core(int id, SchedulingPolicy policy) {
+            this.id = id;
+            this.policy = policy;
+            metrics = MultiCoreScheduler.this.metrics != null ? new SchedulerMetrics() : null;
+            columns = new ProcessColumns(INITIAL_SLOTS);
+            free = new int[INITIAL_SLOTS];
+            for (int slot = INITIAL_SLOTS - 1; slot >= 0; slot--) {
+                free[freeCount++] = slot;
+            }
+            int capacity = recordTimeline ? 16 : 0;
+            segStart = new int[capacity];
+            segEnd = new int[capacity];
+            segProc = new int[capacity];
+            policy.start(columns);
+        }
+
+        // Waiting processes beyond the one an idle core dispatches next
+        int stealable() {
+            return running < 0 ? policy.waiting() - 1 : policy.waiting();
+        }
+
+        boolean idle() {
+            return running < 0 && policy.waiting() == 0;
+        }
+
+        // Processes placed on this core and not finished or stolen yet
+        int live() {
+            return columns.capacity() - freeCount;
+        }
+
+        // Admits a process that is ready at the core's current time, with its remaining service and policy state
+        void place(int idx, int left, int state) {
+            if (freeCount == 0) {
+                int capacity = columns.capacity() * 2;
+                columns.grow(capacity);
+                free = Arrays.copyOf(free, capacity);
+                for (int slot = capacity - 1; slot >= capacity / 2; slot--) {
+                    free[freeCount++] = slot;
+                }
+            }
+            int slot = free[--freeCount];
+            columns.set(slot, arrival[idx], service[idx], left, idx, state);
+            load += left;
+            ready.set(slot);
+            policy.arrived(slot, time);
+        }
+
+        // Moves the process the victim would dispatch next to this core
+        void steal(Core victim) {
+            int slot = SchedulingPolicies.dispatched(victim.policy, victim.policy.dispatch(victim.time), victim.ready);
+            if (slot < 0) {
+                throw new IllegalStateException(victim.policy.name() + " dispatched nothing with "
+                        + victim.policy.waiting() + " processes waiting");
+            }
+            ProcessColumns from = victim.columns;
+            victim.load -= from.remaining[slot];
+            place((int) from.rank(slot), from.remaining[slot], from.state(slot));
+            victim.free[victim.freeCount++] = slot;
+        }
+
+        void requeuePreempted() {
+            if (preempted >= 0) {
+                ready.set(preempted);
+                policy.expired(preempted, time, columns.remaining[preempted]);
+                preempted = -1;
+            }
+        }
+
+        // Runs the core up to the next synchronization point. Slices ending at the point itself are
+        // closed, but nothing new is dispatched at it before the arrivals there have been placed.
+        void advance(long until) {
+            while (true) {
+                if (running >= 0) {
+                    if (sliceEnd > until) {
+                        load -= until - time;
+                        time = until;
+                        return;
+                    }
+                    endSlice(until);
+                }
+                int slot = time < until ? SchedulingPolicies.dispatched(policy, policy.dispatch(time), ready) : -1;
+                if (slot < 0) {
+                    if (until != Long.MAX_VALUE) {
+                        time = until;
+                    } else if (live() > 0) {
+                        throw new IllegalStateException(policy.name() + " dispatched nothing with " + live() + " processes left");
+                    }
+                    return;
+                }
+                dispatch(slot, until);
+            }
+        }
+
+        private void dispatch(int slot, long until) {
+            running = slot;
+            sliceStart = time;
+            decisions++;
+            int left = columns.remaining[slot];
+            sliceEnd = time + SchedulingPolicies.sliced(policy, policy.slice(slot, time, left, until), left);
+            int idx = (int) columns.rank(slot);
+            if (left == columns.service[slot]) {
+                firstRun[idx] = (int) time;
+            }
+            if (metrics != null) {
+                metrics.dispatch(idx, time, sliceEnd, policy.waiting() + 1);
+            }
+        }
+
+        private void endSlice(long until) {
+            int slot = running;
+            int idx = (int) columns.rank(slot);
+            load -= sliceEnd - time;
+            time = sliceEnd;
+            running = -1;
+            int ran = (int) (sliceEnd - sliceStart);
+            int left = columns.remaining[slot] -= ran;
+            busy += ran;
+            if (recordTimeline) {
+                record(idx);
+            }
+            if (left == 0) {
+                finishTime[idx] = (int) time;
+                if (metrics != null) {
+                    metrics.finished(idx);
+                }
+                policy.completed(slot, time);
+                free[freeCount++] = slot;
+            } else if (time < until) {
+                // Nothing arrives between synchronization points, so it can go straight back
+                ready.set(slot);
+                policy.expired(slot, time, left);
+            } else {
+                preempted = slot; // Goes back after the arrivals of this instant, see requeuePreempted
+            }
+        }
+
+        private void record(int idx) {
+            if (segments == segStart.length) {
+                int capacity = segments * 2;
+                segStart = Arrays.copyOf(segStart, capacity);
+                segEnd = Arrays.copyOf(segEnd, capacity);
+                segProc = Arrays.copyOf(segProc, capacity);
+            }
+            segStart[segments] = (int) sliceStart;
+            segEnd[segments] = (int) sliceEnd;
+            segProc[segments] = idx;
+            segments++;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package cpuscheduler;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Online run of one scheduling policy on a single CPU: processes are fed in arrival order while the run is
+// going on and every completion is written out as soon as the process finishes, so a run over an
+// endless or day-long stream needs neither the whole workload nor a results table.
+//
+// Processes live in recycled slots that are handed out on arrival and returned on completion, so memory
+// is bounded by the peak number of live (arrived, unfinished) processes rather than by the number seen.
+// A slot's rank is the arrival sequence number of its process, which breaks ties in the policy's ready
+// structures, so a process that reuses a low slot is not favoured over an earlier arrival: the results
+// are the same as a batch run.
+//
+// Time only moves forward to an arrival once that arrival has been read, since nothing is known
+// about the processes after it; at the end of the input the run drains the remaining processes.
+class OnlineScheduler {
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final SchedulingPolicy policy;
+    private final ReportWriter out;
+
+    // Slot columns, and the name of each slot's process
+    private final ProcessColumns columns = new ProcessColumns(INITIAL_SLOTS);
+    private final BitSet ready = new BitSet(); // Slots the policy holds as ready
+    private String[] name = new String[INITIAL_SLOTS];
+    private int[] free = new int[INITIAL_SLOTS]; // Stack of free slots
+    private int freeCount = 0;
+
+    private long time = 0;
+    private int running = -1;    // Slot on the CPU, -1 when idle
+    private long sliceStart, sliceEnd;
+    private int preempted = -1;  // Slot whose slice expired at the current arrival instant
+    private long lastArrival = 0;
+    private long arrived = 0;
+
+    private final RunStatistics statistics = new RunStatistics(); // Summary without per-process results
+
+    OnlineScheduler(SchedulingPolicy policy, ReportWriter out) {
+        this.policy = policy;
+        this.out = out;
+        for (int slot = INITIAL_SLOTS - 1; slot >= 0; slot--) {
+            free[freeCount++] = slot;
+        }
+        policy.start(columns);
+        out.println("# name arrival service finish turnaround normturn");
+    }
+
+    // Feeds the next process of the stream; arrivals must come in time order
+    void arrive(String processName, int arrivalTime, int serviceTime) {
+        if (arrivalTime < lastArrival) {
+            throw new IllegalArgumentException("Process " + processName + " arrives at " + arrivalTime
+                    + " after a process arriving at " + lastArrival + "; online mode needs arrivals in time order");
+        }
+        if (arrivalTime > time) {
+            advance(arrivalTime);
+        }
+        lastArrival = arrivalTime;
+
+        if (freeCount == 0) {
+            allocate(name.length * 2);
+        }
+        int slot = free[--freeCount];
+        name[slot] = processName;
+        columns.set(slot, arrivalTime, serviceTime, serviceTime, arrived++, 0);
+        ready.set(slot);
+        policy.arrived(slot, time);
+    }
+
+    // Ends the stream: runs every remaining process to completion and writes the summary
+    void finish() {
+        advance(Long.MAX_VALUE);
+        out.print("# completed ").print(statistics.completed(), 0).println();
+        statistics.print(out, "# ");
+    }
+
+    // Runs the CPU up to the given instant. Slices ending at the instant are closed, but nothing is
+    // dispatched at it until the arrivals there have been fed.
+    private void advance(long until) {
+        if (preempted >= 0) {
+            // Back in the queue after the arrivals of the instant its slice expired at
+            ready.set(preempted);
+            policy.expired(preempted, time, columns.remaining[preempted]);
+            preempted = -1;
+        }
+        while (true) {
+            if (running >= 0) {
+                if (sliceEnd > until) {
+                    time = until;
+                    return;
+                }
+                endSlice(until);
+            }
+            int slot = time < until ? SchedulingPolicies.dispatched(policy, policy.dispatch(time), ready) : -1;
+            if (slot < 0) {
+                if (until != Long.MAX_VALUE) {
+                    time = until;
+                } else if (freeCount < name.length) {
+                    throw new IllegalStateException(policy.name() + " dispatched nothing with "
+                            + (name.length - freeCount) + " processes left");
+                }
+                return;
+            }
+            dispatch(slot, until);
+        }
+    }
+
+    private void dispatch(int slot, long until) {
+        int left = columns.remaining[slot];
+        if (left == columns.service[slot]) {
+            statistics.started(columns.arrival[slot], time);
+        }
+        running = slot;
+        sliceStart = time;
+        sliceEnd = time + SchedulingPolicies.sliced(policy, policy.slice(slot, time, left, until), left);
+    }
+
+    private void endSlice(long until) {
+        int slot = running;
+        time = sliceEnd;
+        running = -1;
+        int left = columns.remaining[slot] -= (int) (sliceEnd - sliceStart);
+        if (left == 0) {
+            policy.completed(slot, time);
+            complete(slot);
+        } else if (time < until) {
+            ready.set(slot); // Nothing arrives before the next arrival instant
+            policy.expired(slot, time, left);
+        } else {
+            preempted = slot;
+        }
+    }
+
+    // Writes the completion record of a process and frees its slot
+    private void complete(int slot) {
+        int arrival = columns.arrival[slot], service = columns.service[slot];
+        long turnAround = time - arrival;
+        double normTurn = 1.0 * turnAround / service;
+        out.print(name[slot]).print(' ').print(arrival, 0).print(' ').print(service, 0)
+                .print(' ').print(time, 0).print(' ').print(turnAround, 0).print(' ');
+        if (service > 0) {
+            out.printQuotient(turnAround, service).print('\n');
+        } else {
+            out.printf("%.2f\n", normTurn); // Zero service time: Infinity or NaN, as in the statistics
+        }
+        statistics.completed(arrival, service, time);
+        name[slot] = null;
+        free[freeCount++] = slot;
+    }
+
+    // Grows the slot columns to the given capacity; the policy's structures grow on their own
+    private void allocate(int capacity) {
+        int old = name.length;
+        columns.grow(capacity);
+        name = Arrays.copyOf(name, capacity);
+        free = Arrays.copyOf(free, capacity);
+        for (int slot = capacity - 1; slot >= old; slot--) {
+            free[freeCount++] = slot;
+        }
+    }
+}
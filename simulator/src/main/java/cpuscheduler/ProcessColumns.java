@@ -0,0 +1,89 @@
+package cpuscheduler;
+
+import java.util.Arrays;
+
+// Per-process columns an engine shares with its SchedulingPolicy: arrival, service and remaining service
+// time, the rank that breaks ties between processes and one int of state the policy may keep per process.
+// The engine owns the columns; a policy reads them and only writes its state.
+// On one CPU the indices are those of the process table. The multi-core and online engines recycle
+// indices as slots: a slot is handed out when a process arrives on the engine (or is stolen by a core)
+// and taken back when it completes (or is stolen), and the columns grow while the engine runs, so a
+// policy reads them through these methods instead of holding on to arrays, and should not assume a
+// capacity fixed in start().
+public final class ProcessColumns {
+    int[] arrival;
+    int[] service;
+    int[] remaining;  // Updated by the engine at the end of every slice
+    private long[] rank;  // Null when the rank is the index itself
+    private int[] state;  // Null until a policy stores some state
+
+    // Columns over the first count processes of a table, indexed like it
+    ProcessColumns(int[] arrival, int[] service, int count) {
+        this.arrival = arrival;
+        this.service = service;
+        remaining = Arrays.copyOf(service, count);
+    }
+
+    // Empty slot columns, filled with set()
+    ProcessColumns(int capacity) {
+        arrival = new int[capacity];
+        service = new int[capacity];
+        remaining = new int[capacity];
+        rank = new long[capacity];
+        state = new int[capacity];
+    }
+
+    // Number of indices the columns currently hold
+    public int capacity() {
+        return remaining.length;
+    }
+
+    public int arrival(int idx) {
+        return arrival[idx];
+    }
+
+    public int service(int idx) {
+        return service[idx];
+    }
+
+    public int remaining(int idx) {
+        return remaining[idx];
+    }
+
+    // Tie-break order, lower first: the position in the workload, which is the order of arrival for
+    // processes arriving at the same time. A process keeps its rank when it moves to another slot.
+    public long rank(int idx) {
+        return rank == null ? idx : rank[idx];
+    }
+
+    // State the policy keeps for the process (a feedback level, say); 0 when it arrives, and carried
+    // along when a process is stolen by another core
+    public int state(int idx) {
+        return state == null ? 0 : state[idx];
+    }
+
+    public void setState(int idx, int value) {
+        if (state == null) {
+            state = new int[capacity()];
+        }
+        state[idx] = value;
+    }
+
+    // Puts a process in a slot
+    void set(int slot, int arrivalTime, int serviceTime, int left, long order, int policyState) {
+        arrival[slot] = arrivalTime;
+        service[slot] = serviceTime;
+        remaining[slot] = left;
+        rank[slot] = order;
+        state[slot] = policyState;
+    }
+
+    // Grows slot columns to the given capacity
+    void grow(int capacity) {
+        arrival = Arrays.copyOf(arrival, capacity);
+        service = Arrays.copyOf(service, capacity);
+        remaining = Arrays.copyOf(remaining, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        state = Arrays.copyOf(state, capacity);
+    }
+}
@@ -0,0 +1,130 @@
+package cpuscheduler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Struct-of-arrays process table: one primitive column per process attribute.
+// Process i is described by name(i), arrival[i] and service[i]; the simulation loops
+// read the columns directly so they never unbox or allocate.
+// Generated workloads have no names: the name column is only allocated once a named process
+// is added, and unnamed processes are called P1, P2, ... after their position.
+class ProcessTable {
+    String[] name; // null until a named process is added
+    int[] arrival;
+    int[] service;
+    int size = 0;
+    private int[] order; // Cached arrival order, shared read-only by every run over this table
+    private String fingerprint; // Cached fingerprint()
+
+    ProcessTable(int capacity) {
+        arrival = new int[Math.max(capacity, 1)];
+        service = new int[arrival.length];
+    }
+
+    // Table over columns that already hold size processes; name may be null
+    ProcessTable(String[] name, int[] arrival, int[] service, int size) {
+        this.name = name;
+        this.arrival = arrival;
+        this.service = service;
+        this.size = size;
+    }
+
+    // Appends a process, growing the columns if needed; processName may be null
+    void add(String processName, int arrivalTime, int serviceTime) {
+        if (size == arrival.length) {
+            int capacity = arrival.length * 2;
+            arrival = java.util.Arrays.copyOf(arrival, capacity);
+            service = java.util.Arrays.copyOf(service, capacity);
+            if (name != null) {
+                name = java.util.Arrays.copyOf(name, capacity);
+            }
+        }
+        if (processName != null && name == null) {
+            name = new String[arrival.length];
+        }
+        if (name != null) {
+            name[size] = processName;
+        }
+        arrival[size] = arrivalTime;
+        service[size] = serviceTime;
+        size++;
+        order = null;
+        fingerprint = null;
+    }
+
+    // Name of process i
+    String name(int i) {
+        String n = name != null ? name[i] : null;
+        return n != null ? n : "P" + (i + 1);
+    }
+
+    // Writes the processes as "name arrival service" lines, the WorkloadReader format
+    void write(ReportWriter out) {
+        for (int i = 0; i < size; i++) {
+            out.print(name(i)).print(' ').print(arrival[i], 0).print(' ').print(service[i], 0).println();
+        }
+    }
+
+    // Process indices ordered by arrival time, ties by position in the table.
+    // Computed once and shared, so callers must not modify the returned array.
+    synchronized int[] arrivalOrder() {
+        if (order == null) {
+            order = sortByArrival();
+        }
+        return order;
+    }
+
+    // SHA-256 of the arrival and service columns in hex, identifying the workload in ResultCache.
+    // Names are left out: they change the reports but not the schedule.
+    synchronized String fingerprint() {
+        if (fingerprint == null) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // Every Java platform has SHA-256
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(size);
+            for (int i = 0; i < size; i++) {
+                if (buffer.remaining() < 8) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+                buffer.putInt(arrival[i]).putInt(service[i]);
+            }
+            buffer.flip();
+            digest.update(buffer);
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            fingerprint = hex.toString();
+        }
+        return fingerprint;
+    }
+
+    private int[] sortByArrival() {
+        int[] sorted = new int[size];
+        boolean inOrder = true;
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+            inOrder &= i == 0 || arrival[i - 1] <= arrival[i];
+        }
+        if (inOrder) {
+            return sorted; // Workloads are usually listed in arrival order already
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) arrival[i] << 32) | i;
+        }
+        java.util.Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+}
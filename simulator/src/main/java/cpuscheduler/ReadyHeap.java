@@ -0,0 +1,117 @@
+package cpuscheduler;
+
+// Ready queue backed by an indexed binary min-heap of process indices.
+// Processes are ordered by an integer key (service time, remaining time, ...) and ties go to the
+// lower process index, which is the same choice a linear scan in index order with a strict '<' makes.
+// Every operation is O(log n) and decreaseKey lets a running process shrink its key in place.
+// The arrays grow (doubling) when a process index beyond the capacity is added.
+class ReadyHeap {
+    private int[] heap; // Process indices in heap order
+    private int[] pos;  // Position of each process in the heap, -1 if not queued
+    private long[] key; // Current key of each process
+    private int size = 0;
+
+    ReadyHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        key = new long[capacity];
+        java.util.Arrays.fill(pos, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int idx) {
+        return idx < pos.length && pos[idx] >= 0;
+    }
+
+    long keyOf(int idx) {
+        return key[idx];
+    }
+
+    // Admits a process with the given key
+    void add(int idx, long k) {
+        if (idx >= pos.length) {
+            grow(Math.max(idx + 1, 2 * pos.length));
+        }
+        key[idx] = k;
+        heap[size] = idx;
+        pos[idx] = size;
+        siftUp(size++);
+    }
+
+    // Returns the process with the smallest key without removing it
+    int peek() {
+        return heap[0];
+    }
+
+    // Removes and returns the process with the smallest key
+    int poll() {
+        int top = heap[0];
+        pos[top] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // Lowers the key of a queued process and restores heap order
+    void decreaseKey(int idx, long k) {
+        key[idx] = k;
+        siftUp(pos[idx]);
+    }
+
+    private void grow(int capacity) {
+        int old = pos.length;
+        heap = java.util.Arrays.copyOf(heap, capacity);
+        key = java.util.Arrays.copyOf(key, capacity);
+        pos = java.util.Arrays.copyOf(pos, capacity);
+        java.util.Arrays.fill(pos, old, capacity, -1);
+    }
+
+    // True if process a should be picked before process b
+    private boolean before(int a, int b) {
+        return key[a] < key[b] || (key[a] == key[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int idx = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(idx, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            pos[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = idx;
+        pos[idx] = i;
+    }
+
+    private void siftDown(int i) {
+        int idx = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], idx)) {
+                break;
+            }
+            heap[i] = heap[child];
+            pos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = idx;
+        pos[idx] = i;
+    }
+}
@@ -0,0 +1,183 @@
+package cpuscheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Formatter;
+
+// Buffered output pipeline for the trace and statistics reports.
+// Text is encoded into one reusable byte buffer that is drained to a channel (stdout or a file)
+// whenever it fills up, so a report streams out row by row and is never held as whole strings.
+// Only floating point cells go through a Formatter, which renders into a reusable StringBuilder.
+class ReportWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final WritableByteChannel channel;
+    private final OutputStream stream; // Stream behind the channel, null when writing to a file
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder text = new StringBuilder();
+    private final Formatter formatter = new Formatter(text);
+    private final Charset charset; // Encoding of non-ASCII text such as process names
+
+    private ReportWriter(WritableByteChannel channel, OutputStream stream, Charset charset) {
+        this.channel = channel;
+        this.stream = stream;
+        this.charset = charset;
+    }
+
+    // Writer for an output stream such as System.out; closing it only flushes
+    static ReportWriter of(OutputStream out) {
+        return of(out, Charset.defaultCharset());
+    }
+
+    // Same, encoding text in the given charset instead of the platform's
+    static ReportWriter of(OutputStream out, Charset charset) {
+        return new ReportWriter(Channels.newChannel(out), out, charset);
+    }
+
+    // Writer that creates (or truncates) the given file
+    static ReportWriter toFile(Path path) throws IOException {
+        return new ReportWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), null, Charset.defaultCharset());
+    }
+
+    ReportWriter print(char c) {
+        if (c < 0x80) {
+            ensure(1);
+            buffer.put((byte) c);
+        } else {
+            writeBytes(String.valueOf(c).getBytes(charset));
+        }
+        return this;
+    }
+
+    ReportWriter print(CharSequence s) {
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                writeBytes(s.subSequence(i, n).toString().getBytes(charset)); // Rare: non-ASCII names
+                return this;
+            }
+            ensure(1);
+            buffer.put((byte) c);
+        }
+        return this;
+    }
+
+    // Prints an integer right-aligned in the given width, like "%<width>d"
+    ReportWriter print(long value, int width) {
+        int digits = 1;
+        for (long v = Math.abs(value / 10); v > 0; v /= 10) {
+            digits++;
+        }
+        int len = value < 0 ? digits + 1 : digits;
+        ensure(Math.max(width, len));
+        for (int i = len; i < width; i++) {
+            buffer.put((byte) ' ');
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        int at = buffer.position() + digits;
+        buffer.position(at);
+        for (long v = value; digits-- > 0; v /= 10) {
+            buffer.put(--at, (byte) ('0' + Math.abs(v % 10)));
+        }
+        return this;
+    }
+
+    // Prints dividend / divisor (both non-negative) with two decimals rounded half up, like "%.2f" of the
+    // quotient, but exactly and without going through Formatter
+    ReportWriter printQuotient(long dividend, long divisor) {
+        long hundredths = (200 * dividend + divisor) / (2 * divisor);
+        print(hundredths / 100, 0).print('.');
+        long cents = hundredths % 100;
+        return print((char) ('0' + cents / 10)).print((char) ('0' + cents % 10));
+    }
+
+    // Prints a JSON string literal, escaping quotes, backslashes and control characters
+    ReportWriter printJson(CharSequence s) {
+        print('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                print('\\').print(c);
+            } else if (c < 0x20) {
+                print("\\u00").print(Character.forDigit(c >> 4, 16)).print(Character.forDigit(c & 0xf, 16));
+            } else {
+                print(c);
+            }
+        }
+        return print('"');
+    }
+
+    // Prints a JSON number rounded to 4 decimals; NaN and infinities (zero service times) become null
+    ReportWriter printJson(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return print("null");
+        }
+        return print(Double.toString(Math.round(value * 1e4) / 1e4));
+    }
+
+    // Formats through java.util.Formatter for cells that need printf semantics (e.g. "%2.2f")
+    ReportWriter printf(String format, Object... args) {
+        text.setLength(0);
+        formatter.format(format, args);
+        return print(text);
+    }
+
+    ReportWriter println() {
+        return print(LINE_SEPARATOR);
+    }
+
+    ReportWriter println(CharSequence s) {
+        return print(s).println();
+    }
+
+    // Writes out everything buffered so far
+    void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (stream != null) {
+                stream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (stream == null) {
+            channel.close();
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        for (byte b : bytes) {
+            ensure(1);
+            buffer.put(b);
+        }
+    }
+}
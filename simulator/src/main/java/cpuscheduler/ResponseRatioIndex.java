@@ -0,0 +1,145 @@
+package cpuscheduler;
+
+// Ready structure for HRRN: a kinetic segment tree over process indices.
+// The response ratio of a ready process at time t is (t - arrival + service) / service, a line in t
+// whose slope is 1 / service. Each internal node keeps the winner of its subtree at the current time
+// plus the earliest time at which that winner can be overtaken, so advancing time only revisits the
+// subtrees whose winner actually changes instead of recomputing every waiting process.
+// Ties go to the lower rank (see ProcessColumns.rank), which on one CPU is the process index: the same
+// choice an in-order scan with a strict '>' makes.
+// The tree is laid out bottom-up with one leaf per process at [n, 2n), so it needs no padding to a
+// power of two; the order of the leaves does not matter because ties are broken on the rank itself.
+// Adding an index beyond the leaves rebuilds the tree with twice as many.
+class ResponseRatioIndex {
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final ProcessColumns processes; // Arrival, service and rank of each index, only read
+    private int[] arrival; // Its arrival and service columns, reloaded on add() since slot columns grow
+    private int[] service;
+    private int leaves;   // Number of leaves, one per process
+    private int[] winner; // Winning process of each node's subtree, -1 if the subtree is empty
+    private long[] fail;  // Earliest time the winner of each node's subtree may change
+    private long now = 0; // Time the winners are valid for
+    private int size = 0;
+
+    ResponseRatioIndex(ProcessColumns processes) {
+        this.processes = processes;
+        arrival = processes.arrival;
+        service = processes.service;
+        leaves = Math.max(processes.capacity(), 1);
+        winner = new int[2 * leaves];
+        fail = new long[2 * leaves];
+        java.util.Arrays.fill(winner, -1);
+        java.util.Arrays.fill(fail, NEVER);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Moves the index forward to the given time; time never goes backwards
+    void advance(long time) {
+        now = time;
+        if (fail[1] <= now) {
+            refresh(1);
+        }
+    }
+
+    // Admits a process that arrived at or before the current time
+    void add(int idx) {
+        arrival = processes.arrival;
+        service = processes.service;
+        if (idx >= leaves) {
+            grow(Math.max(idx + 1, 2 * leaves));
+        }
+        winner[leaves + idx] = idx;
+        size++;
+        pullUp(leaves + idx);
+    }
+
+    // Removes and returns the process with the highest response ratio at the current time
+    int poll() {
+        int top = winner[1];
+        winner[leaves + top] = -1;
+        size--;
+        pullUp(leaves + top);
+        return top;
+    }
+
+    // Moves the leaves to a tree of the given size and recomputes every internal node
+    private void grow(int capacity) {
+        int[] oldWinner = winner;
+        int oldLeaves = leaves;
+        leaves = capacity;
+        winner = new int[2 * leaves];
+        fail = new long[2 * leaves];
+        java.util.Arrays.fill(winner, -1);
+        java.util.Arrays.fill(fail, NEVER);
+        System.arraycopy(oldWinner, oldLeaves, winner, leaves, oldLeaves);
+        for (int node = leaves - 1; node > 0; node--) {
+            pull(node);
+        }
+    }
+
+    // Recomputes the winners of every subtree whose certificate has expired
+    private void refresh(int node) {
+        if (node >= leaves) {
+            return;
+        }
+        if (fail[2 * node] <= now) {
+            refresh(2 * node);
+        }
+        if (fail[2 * node + 1] <= now) {
+            refresh(2 * node + 1);
+        }
+        pull(node);
+    }
+
+    private void pullUp(int node) {
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            pull(node);
+        }
+    }
+
+    private void pull(int node) {
+        int l = winner[2 * node], r = winner[2 * node + 1];
+        long f = Math.min(fail[2 * node], fail[2 * node + 1]);
+        if (l < 0 || r < 0) {
+            winner[node] = l < 0 ? r : l;
+        } else if (beats(r, l)) {
+            winner[node] = r;
+            f = Math.min(f, overtakeTime(r, l));
+        } else {
+            winner[node] = l;
+            f = Math.min(f, overtakeTime(l, r));
+        }
+        fail[node] = f;
+    }
+
+    // True if process a has the higher response ratio at the current time (ties to the lower rank)
+    private boolean beats(int a, int b) {
+        long lhs = (now - arrival[a] + service[a]) * (long) service[b];
+        long rhs = (now - arrival[b] + service[b]) * (long) service[a];
+        return lhs > rhs || (lhs == rhs && earlier(a, b));
+    }
+
+    private boolean earlier(int a, int b) {
+        return processes.rank(a) < processes.rank(b);
+    }
+
+    // Earliest time at which the loser beats the current winner.
+    // The loser wins once t * (sW - sL) exceeds aL * sW - aW * sL, which can only
+    // happen when its ratio grows faster, that is when it has the shorter service time.
+    private long overtakeTime(int w, int l) {
+        long d = (long) service[w] - service[l];
+        if (d <= 0) {
+            return NEVER;
+        }
+        long c = (long) arrival[l] * service[w] - (long) arrival[w] * service[l];
+        return earlier(l, w) ? Math.floorDiv(c + d - 1, d) : Math.floorDiv(c, d) + 1;
+    }
+}
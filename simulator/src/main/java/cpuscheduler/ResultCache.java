@@ -0,0 +1,203 @@
+package cpuscheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// On-disk cache of run results, so repeated runs of the same workload, algorithm and quantum skip the
+// simulation. Entries are keyed by ProcessTable.fingerprint() and the run parameters that change the
+// schedule (algorithm, quantum, cores, stealing), one file per entry:
+//   magic "CPR\0", version, process count n, cores c, segment count s (-1 without a timeline), decisions (long)
+//   finish[n], first run[n], busy[c] (longs, only with more than one core)
+//   process[s], start[s], end[s], core[s]   the timeline, as in BinaryTrace
+// Entries are little-endian and mapped when read. A run that records its timeline (the trace output)
+// only uses entries that have one; otherwise it simulates and replaces the entry.
+// The cache is bounded in bytes: each hit touches the entry's modification time and every store
+// evicts the least recently used entries until the directory fits again. VERSION must change whenever
+// an algorithm changes its schedule, which retires every older entry.
+class ResultCache {
+    private static final int MAGIC = 0x00525043; // "CPR\0"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 28;
+    private static final String SUFFIX = ".run";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Results of a cached run
+    static final class Result {
+        final int cpus;
+        final int[] finish;
+        final int[] firstRun;
+        final long[] busy;               // null for a single core
+        final ExecutionTimeline timeline; // null if the run did not record one
+        final long decisions;
+
+        Result(int cpus, int[] finish, int[] firstRun, long[] busy, ExecutionTimeline timeline, long decisions) {
+            this.cpus = cpus;
+            this.finish = finish;
+            this.firstRun = firstRun;
+            this.busy = busy;
+            this.timeline = timeline;
+            this.decisions = decisions;
+        }
+    }
+
+    ResultCache(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    // Entry name of a run: the workload fingerprint and every parameter that changes the schedule
+    static String key(ProcessTable table, int algorithm, int quantum, int cpus, boolean steal) {
+        return table.fingerprint() + "-" + algorithm + "-" + (algorithm == CPUSchedulingSimulator.RR ? quantum : 0)
+                + "-" + cpus + (steal && cpus > 1 ? "s" : "") + SUFFIX;
+    }
+
+    // Cached results of the run, or null if there are none (with a timeline if needTimeline is set).
+    // Unreadable entries count as misses and are dropped.
+    Result load(String key, int processCount, boolean needTimeline) {
+        Path path = directory.resolve(key);
+        try (FileChannel channel = FileChannel.open(path)) {
+            Result result = read(channel, processCount, needTimeline);
+            if (result != null) {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return result;
+        } catch (IOException | IllegalArgumentException e) {
+            delete(path); // Missing (a plain miss) or corrupt
+            return null;
+        }
+    }
+
+    // Stores the results of a run, then evicts the least recently used entries beyond the size bound
+    void store(String key, int processCount, int cpus, int[] finish, int[] firstRun, long[] busy,
+               ExecutionTimeline timeline, long decisions) {
+        try {
+            // Written aside and moved in place, so concurrent readers never see a partial entry
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            try (BinaryWriter out = new BinaryWriter(temp)) {
+                out.putInt(MAGIC).putInt(VERSION).putInt(processCount).putInt(cpus)
+                        .putInt(timeline == null ? -1 : timeline.segments()).putLong(decisions);
+                out.putInts(finish, processCount).putInts(firstRun, processCount);
+                for (int c = 0; cpus > 1 && c < cpus; c++) {
+                    out.putLong(busy[c]);
+                }
+                if (timeline != null) {
+                    BinaryTrace.putSegments(out, timeline, processCount);
+                }
+            } catch (IOException | RuntimeException e) {
+                delete(temp);
+                throw e;
+            }
+            Files.move(temp, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Result read(FileChannel channel, int processCount, boolean needTimeline) throws IOException {
+        ByteBuffer entry = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        if (entry.capacity() < HEADER_BYTES || entry.getInt(0) != MAGIC || entry.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("not a version " + VERSION + " cache entry");
+        }
+        int cpus = entry.getInt(12);
+        int segments = entry.getInt(16);
+        long decisions = entry.getLong(20);
+        if (entry.getInt(8) != processCount || cpus < 1 || segments < -1) {
+            throw new IllegalArgumentException("invalid cache entry");
+        }
+        if (needTimeline && segments < 0) {
+            return null;
+        }
+        int busyCount = cpus > 1 ? cpus : 0;
+        long size = HEADER_BYTES + 8L * processCount + 8L * busyCount + 16L * Math.max(segments, 0);
+        if (entry.capacity() != size) {
+            throw new IllegalArgumentException("truncated cache entry");
+        }
+
+        entry.position(HEADER_BYTES);
+        IntBuffer columns = entry.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        int[] finish = new int[processCount];
+        int[] firstRun = new int[processCount];
+        columns.get(finish).get(firstRun);
+        long[] busy = null;
+        if (busyCount > 0) {
+            busy = new long[cpus];
+            entry.position(HEADER_BYTES + 8 * processCount);
+            entry.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(busy);
+        }
+        ExecutionTimeline timeline = null;
+        if (segments >= 0) {
+            entry.position(HEADER_BYTES + 8 * processCount + 8 * busyCount);
+            timeline = BinaryTrace.readSegments(entry.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer(), segments, processCount, cpus);
+        }
+        return new Result(cpus, finish, firstRun, busy, timeline, decisions);
+    }
+
+    // Deletes the least recently used entries until the cache fits in maxBytes
+    private synchronized void evict() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                entries.add(file);
+                total += size(file);
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        // Oldest first; the times are read once, as touching entries concurrently must not break the sort
+        long[] used = new long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            used[i] = lastUsed(entries.get(i));
+        }
+        Integer[] order = new Integer[entries.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(used[a], used[b]));
+        for (int i = 0; i < order.length && total > maxBytes; i++) {
+            Path file = entries.get(order[i]);
+            total -= size(file);
+            delete(file);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0; // Evicted by another run meanwhile
+        }
+    }
+
+    private static long lastUsed(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Another run holds or removed it; the next eviction retries
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package cpuscheduler;
+
+// Aggregate statistics of one run, updated as processes start and complete instead of being derived
+// from per-process result columns, so their memory does not grow with the number of processes.
+// Means come from exact running sums; percentiles come from StreamingHistogram, to within 0.8%.
+//   turnaround             finish - arrival
+//   normalized turnaround  turnaround / service, kept in hundredths; a process with no service time has
+//                          none to record, but it still counts in the mean, which becomes Infinity or NaN
+//                          just as in the per-process statistics
+//   waiting                turnaround - service
+//   response               first dispatch - arrival
+class RunStatistics {
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+    static final String HEADER = "Statistic  |      Mean |       p50 |       p90 |       p99 |     p99.9 |       Max |";
+
+    private final StreamingHistogram turnAround = new StreamingHistogram();
+    private final StreamingHistogram normTurn = new StreamingHistogram();
+    private final StreamingHistogram waiting = new StreamingHistogram();
+    private final StreamingHistogram response = new StreamingHistogram();
+    private long turnAroundSum = 0;
+    private double normTurnSum = 0;
+    private long waitingSum = 0;
+    private long responseSum = 0;
+    private long completed = 0;
+    private long lastFinish = 0;
+
+    // A process runs for the first time
+    void started(long arrival, long time) {
+        response.record(time - arrival);
+        responseSum += time - arrival;
+    }
+
+    // A process completes
+    void completed(long arrival, long service, long finish) {
+        long turn = finish - arrival;
+        turnAround.record(turn);
+        turnAroundSum += turn;
+        waiting.record(turn - service);
+        waitingSum += turn - service;
+        if (service > 0) {
+            normTurn.record((200 * turn + service) / (2 * service)); // Hundredths, rounded half up
+        }
+        normTurnSum += 1.0 * turn / service;
+        completed++;
+        lastFinish = Math.max(lastFinish, finish);
+    }
+
+    long completed() {
+        return completed;
+    }
+
+    double meanTurnAround() {
+        return 1.0 * turnAroundSum / completed;
+    }
+
+    double meanNormTurn() {
+        return normTurnSum / completed;
+    }
+
+    long lastFinish() {
+        return lastFinish;
+    }
+
+    // Prints one row per statistic with its mean, percentiles and maximum; every line starts with prefix
+    void print(ReportWriter out, String prefix) {
+        out.print(prefix).println(HEADER);
+        row(out, prefix, "Turnaround ", turnAround, mean(turnAroundSum, turnAround.count()), 1);
+        row(out, prefix, "NormTurn   ", normTurn, mean(normTurnSum, completed), 100);
+        row(out, prefix, "Waiting    ", waiting, mean(waitingSum, waiting.count()), 1);
+        row(out, prefix, "Response   ", response, mean(responseSum, response.count()), 1);
+    }
+
+    // Prints the same statistics as one JSON object, e.g. {"turnaround":{"mean":..,"p50":..,...,"max":..},...}
+    void printJson(ReportWriter out) {
+        jsonEntry(out, "{\"turnaround\":", turnAround, mean(turnAroundSum, turnAround.count()), 1);
+        jsonEntry(out, ",\"normturn\":", normTurn, mean(normTurnSum, completed), 100);
+        jsonEntry(out, ",\"waiting\":", waiting, mean(waitingSum, waiting.count()), 1);
+        jsonEntry(out, ",\"response\":", response, mean(responseSum, response.count()), 1);
+        out.print('}');
+    }
+
+    // Mean of count values, 0 if there are none; the normalized turnaround one counts every completed
+    // process, including those without a recorded value
+    private static double mean(double sum, long count) {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    private static void jsonEntry(ReportWriter out, String key, StreamingHistogram values, double mean, int scale) {
+        out.print(key).print("{\"mean\":").printJson(mean);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            out.print(",\"").print(PERCENTILE_NAMES[i]).print("\":").printJson(1.0 * values.percentile(PERCENTILES[i]) / scale);
+        }
+        out.print(",\"max\":").printJson(1.0 * values.max() / scale).print('}');
+    }
+
+    private static void row(ReportWriter out, String prefix, String label, StreamingHistogram values, double mean, int scale) {
+        out.print(prefix).print(label).print('|');
+        decimal(out, mean);
+        for (double p : PERCENTILES) {
+            cell(out, values.percentile(p), scale);
+        }
+        cell(out, values.max(), scale);
+        out.println();
+    }
+
+    private static void cell(ReportWriter out, long value, int scale) {
+        if (scale == 1) {
+            out.print(value, 10).print(" |");
+        } else {
+            decimal(out, 1.0 * value / scale);
+        }
+    }
+
+    // A ten character cell: two decimals while they fit, then whole numbers, then scientific notation
+    private static void decimal(ReportWriter out, double value) {
+        if (Math.abs(value) < 9_999_999.995) {
+            out.printf("%10.2f |", value);
+        } else if (Math.abs(value) < 9_999_999_999.5) {
+            out.printf("%10.0f |", value);
+        } else {
+            out.printf("%10.3e |", value);
+        }
+    }
+}
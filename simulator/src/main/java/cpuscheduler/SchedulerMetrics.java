@@ -0,0 +1,128 @@
+package cpuscheduler;
+
+// Opt-in instrumentation of one run, fed from the dispatch and completion points of the algorithms.
+// Runs without metrics carry a null collector, so the only cost left in them is one null check per
+// dispatch and per completion.
+//
+//   decisions          dispatches, one per run of a process on the CPU
+//   context switches   dispatches of a different process than the one that ran last on that CPU
+//   preemptions        context switches away from a process that had not finished
+//   idle ticks         simulated time the CPU sat idle, skipped in one jump to the next arrival
+//   ready depth        histogram of the number of ready processes (the dispatched one included) at each decision
+//   decision latency   histogram of the wall-clock nanoseconds between consecutive decisions
+// Histograms use power-of-two buckets: bucket 0 holds 0, bucket b holds [2^(b-1), 2^b).
+class SchedulerMetrics {
+    private static final int BUCKETS = 64;
+
+    private long decisions;
+    private long contextSwitches;
+    private long preemptions;
+    private long idleTicks;
+    private long idleJumps;
+    private final long[] readyDepth = new long[BUCKETS];
+    private final long[] decisionNanos = new long[BUCKETS];
+    private long elapsedNanos;
+
+    private int last = -1;          // Process dispatched last, -1 before the first decision
+    private boolean lastDone = true; // True once the last dispatched process has completed
+    private long lastEnd = 0;       // End of the last run, where idle time starts
+    private long startNanos;
+    private long lastNanos;
+
+    // Starts the wall clock of the run
+    void start() {
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+    }
+
+    // Stops the wall clock of the run
+    void stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    // Records a decision: the process runs over [from, to) with the given number of ready processes
+    void dispatch(int idx, long from, long to, int ready) {
+        long now = System.nanoTime();
+        decisionNanos[bucket(now - lastNanos)]++;
+        lastNanos = now;
+
+        decisions++;
+        readyDepth[bucket(ready)]++;
+        if (from > lastEnd) {
+            idleTicks += from - lastEnd;
+            idleJumps++;
+        }
+        lastEnd = to;
+        if (idx != last) {
+            if (last >= 0) {
+                contextSwitches++;
+                if (!lastDone) {
+                    preemptions++;
+                }
+            }
+            last = idx;
+        }
+        lastDone = false;
+    }
+
+    // Records the completion of a process
+    void finished(int idx) {
+        if (idx == last) {
+            lastDone = true;
+        }
+    }
+
+    // Adds the counters of another CPU of the same run; the wall clock stays this one's
+    void merge(SchedulerMetrics other) {
+        decisions += other.decisions;
+        contextSwitches += other.contextSwitches;
+        preemptions += other.preemptions;
+        idleTicks += other.idleTicks;
+        idleJumps += other.idleJumps;
+        for (int b = 0; b < BUCKETS; b++) {
+            readyDepth[b] += other.readyDepth[b];
+            decisionNanos[b] += other.decisionNanos[b];
+        }
+    }
+
+    // Writes the metrics as one JSON object on a single line
+    void write(ReportWriter out, String algorithm) {
+        out.print("{\"algorithm\":").printJson(algorithm);
+        field(out, "decisions", decisions);
+        field(out, "context_switches", contextSwitches);
+        field(out, "preemptions", preemptions);
+        field(out, "idle_ticks_skipped", idleTicks);
+        field(out, "idle_jumps", idleJumps);
+        field(out, "elapsed_ns", elapsedNanos);
+        field(out, "ns_per_decision", decisions == 0 ? 0 : elapsedNanos / decisions);
+        histogram(out, "ready_depth", readyDepth);
+        histogram(out, "decision_ns", decisionNanos);
+        out.println("}");
+    }
+
+    private static void field(ReportWriter out, String name, long value) {
+        out.print(",\"").print(name).print("\":").print(value, 0);
+    }
+
+    // Non-empty buckets as [{"min":..,"max":..,"count":..}, ...], bounds inclusive
+    private static void histogram(ReportWriter out, String name, long[] counts) {
+        out.print(",\"").print(name).print("\":[");
+        boolean first = true;
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] == 0) {
+                continue;
+            }
+            long min = b == 0 ? 0 : 1L << (b - 1);
+            long max = b == 0 ? 0 : b == BUCKETS - 1 ? Long.MAX_VALUE : (1L << b) - 1;
+            out.print(first ? "{\"min\":" : ",{\"min\":").print(min, 0)
+                    .print(",\"max\":").print(max, 0)
+                    .print(",\"count\":").print(counts[b], 0).print('}');
+            first = false;
+        }
+        out.print(']');
+    }
+
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+    }
+}
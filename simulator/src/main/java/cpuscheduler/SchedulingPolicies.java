@@ -0,0 +1,250 @@
+package cpuscheduler;
+
+import java.util.BitSet;
+
+// The built-in algorithms as SchedulingPolicy implementations, the loading of custom ones and the checks
+// the engines apply to a policy's answers.
+// Each keeps its ready processes in one of the primitive structures (IntQueue, ReadyHeap,
+// ResponseRatioIndex, FeedbackQueues), which grow with the process columns. The preemptive ones that
+// only reconsider their choice at an arrival (SRT, AGING) run the chosen process up to the horizon.
+final class SchedulingPolicies {
+
+    private SchedulingPolicies() {
+    }
+
+    // Policy of a built-in algorithm, or null if the id is unknown; quantum is only used by RR
+    static SchedulingPolicy of(int algorithm_id, int quantum) {
+        switch (algorithm_id) {
+            case CPUSchedulingSimulator.FCFS: return new FirstComeFirstServe();
+            case CPUSchedulingSimulator.RR: return new RoundRobin(quantum);
+            case CPUSchedulingSimulator.SPN: return new ShortestProcessNext();
+            case CPUSchedulingSimulator.SRT: return new ShortestRemainingTime();
+            case CPUSchedulingSimulator.HRRN: return new HighestResponseRatioNext();
+            case CPUSchedulingSimulator.AGING: return new Aging();
+            case CPUSchedulingSimulator.FB_1: return new Feedback(false);
+            case CPUSchedulingSimulator.FB_2I: return new Feedback(true);
+            default: return null;
+        }
+    }
+
+    // Instantiates a custom policy from its class name; the class needs a public no-argument constructor
+    static SchedulingPolicy load(String className) {
+        try {
+            return Class.forName(className).asSubclass(SchedulingPolicy.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Cannot load scheduling policy " + className + ": " + e);
+        }
+    }
+
+    // Checks the answer of dispatch(): -1, or a process of the ready set, which it leaves
+    static int dispatched(SchedulingPolicy policy, int idx, BitSet ready) {
+        if (idx >= 0) {
+            if (!ready.get(idx)) {
+                throw new IllegalStateException(policy.name() + " dispatched process " + idx + ", which is not ready");
+            }
+            ready.clear(idx);
+        }
+        return idx;
+    }
+
+    // Checks the answer of slice()
+    static int sliced(SchedulingPolicy policy, int run, int remaining) {
+        if (run > remaining || run < (remaining > 0 ? 1 : 0)) {
+            throw new IllegalStateException(policy.name() + " sliced " + run + " ticks with " + remaining + " remaining");
+        }
+        return run;
+    }
+
+    // Heap key ordering by key, then by rank; ranks are compared on their low 32 bits, so online sequence
+    // numbers wrap after 2^32 processes (equal keys of processes that far apart then lose their order)
+    private static long heapKey(int key, ProcessColumns processes, int idx) {
+        return (long) key << 32 | (processes.rank(idx) & 0xFFFFFFFFL);
+    }
+
+    // Longest slice that stops at the horizon: the choice of SRT and AGING only changes at an arrival
+    private static int untilHorizon(long time, int remaining, long horizon) {
+        return (int) Math.min(remaining, horizon - time);
+    }
+
+    // First Come First Serve: processes run to completion in arrival order
+    static final class FirstComeFirstServe implements SchedulingPolicy {
+        private IntQueue ready;
+
+        @Override public void start(ProcessColumns processes) { ready = new IntQueue(processes.capacity()); }
+        @Override public void arrived(int idx, long time) { ready.add(idx); }
+        @Override public int dispatch(long time) { return ready.isEmpty() ? -1 : ready.poll(); }
+        @Override public int waiting() { return ready.size(); }
+        @Override public int slice(int idx, long time, int remaining, long horizon) { return remaining; }
+        @Override public void expired(int idx, long time, int remaining) { ready.add(idx); }
+        @Override public void completed(int idx, long time) { }
+        @Override public String name() { return CPUSchedulingSimulator.ALGORITHMS[CPUSchedulingSimulator.FCFS]; }
+    }
+
+    // Round Robin: one quantum at a time, then back to the end of the queue behind the processes
+    // that arrived meanwhile
+    static final class RoundRobin implements SchedulingPolicy {
+        private final int quantum;
+        private IntQueue ready;
+
+        RoundRobin(int quantum) {
+            this.quantum = quantum;
+        }
+
+        @Override public void start(ProcessColumns processes) { ready = new IntQueue(processes.capacity()); }
+        @Override public void arrived(int idx, long time) { ready.add(idx); }
+        @Override public int dispatch(long time) { return ready.isEmpty() ? -1 : ready.poll(); }
+        @Override public int waiting() { return ready.size(); }
+        @Override public int slice(int idx, long time, int remaining, long horizon) { return Math.min(quantum, remaining); }
+        @Override public void expired(int idx, long time, int remaining) { ready.add(idx); }
+        @Override public void completed(int idx, long time) { }
+        @Override public String name() { return CPUSchedulingSimulator.algorithmName(CPUSchedulingSimulator.RR, quantum); }
+    }
+
+    // Shortest Process Next: the shortest service time runs to completion
+    static final class ShortestProcessNext implements SchedulingPolicy {
+        private ProcessColumns processes;
+        private ReadyHeap ready;
+
+        @Override
+        public void start(ProcessColumns processes) {
+            this.processes = processes;
+            ready = new ReadyHeap(processes.capacity());
+        }
+
+        @Override public void arrived(int idx, long time) { ready.add(idx, heapKey(processes.service(idx), processes, idx)); }
+        @Override public int dispatch(long time) { return ready.isEmpty() ? -1 : ready.poll(); }
+        @Override public int waiting() { return ready.size(); }
+        @Override public int slice(int idx, long time, int remaining, long horizon) { return remaining; }
+        @Override public void expired(int idx, long time, int remaining) { arrived(idx, time); }
+        @Override public void completed(int idx, long time) { }
+        @Override public String name() { return CPUSchedulingSimulator.ALGORITHMS[CPUSchedulingSimulator.SPN]; }
+    }
+
+    // Shortest Remaining Time: the choice can only change when a new process arrives (a preemption point),
+    // so the process with the shortest remaining time runs until the horizon or until it completes
+    static final class ShortestRemainingTime implements SchedulingPolicy {
+        private ProcessColumns processes;
+        private ReadyHeap ready; // Keyed by remaining service time
+
+        @Override
+        public void start(ProcessColumns processes) {
+            this.processes = processes;
+            ready = new ReadyHeap(processes.capacity());
+        }
+
+        @Override public void arrived(int idx, long time) { ready.add(idx, heapKey(processes.remaining(idx), processes, idx)); }
+        @Override public int dispatch(long time) { return ready.isEmpty() ? -1 : ready.poll(); }
+        @Override public int waiting() { return ready.size(); }
+        @Override public int slice(int idx, long time, int remaining, long horizon) { return untilHorizon(time, remaining, horizon); }
+        @Override public void expired(int idx, long time, int remaining) { ready.add(idx, heapKey(remaining, processes, idx)); }
+        @Override public void completed(int idx, long time) { }
+        @Override public String name() { return CPUSchedulingSimulator.ALGORITHMS[CPUSchedulingSimulator.SRT]; }
+    }
+
+    // Highest Response Ratio Next: the highest (waiting + service) / service runs to completion
+    static final class HighestResponseRatioNext implements SchedulingPolicy {
+        private ResponseRatioIndex ready;
+
+        @Override
+        public void start(ProcessColumns processes) {
+            ready = new ResponseRatioIndex(processes);
+        }
+
+        @Override
+        public void arrived(int idx, long time) {
+            ready.advance(time);
+            ready.add(idx);
+        }
+
+        @Override
+        public int dispatch(long time) {
+            if (ready.isEmpty()) {
+                return -1;
+            }
+            ready.advance(time); // Bring the response ratios up to date
+            return ready.poll();
+        }
+
+        @Override public int waiting() { return ready.size(); }
+        @Override public int slice(int idx, long time, int remaining, long horizon) { return remaining; }
+        @Override public void expired(int idx, long time, int remaining) { arrived(idx, time); }
+        @Override public void completed(int idx, long time) { }
+        @Override public String name() { return CPUSchedulingSimulator.ALGORITHMS[CPUSchedulingSimulator.HRRN]; }
+    }
+
+    // Aging (simple priority aging): every ready process gains one priority point per tick, so at time t
+    // a ready process has priority t - arrival + 1. Instead of aging every process on every tick, keep them
+    // keyed by arrival time: the highest priority is the earliest arrival, and it only changes at an arrival.
+    static final class Aging implements SchedulingPolicy {
+        private ProcessColumns processes;
+        private ReadyHeap ready; // Keyed by arrival time
+
+        @Override
+        public void start(ProcessColumns processes) {
+            this.processes = processes;
+            ready = new ReadyHeap(processes.capacity());
+        }
+
+        @Override public void arrived(int idx, long time) { ready.add(idx, heapKey(processes.arrival(idx), processes, idx)); }
+        @Override public int dispatch(long time) { return ready.isEmpty() ? -1 : ready.poll(); }
+        @Override public int waiting() { return ready.size(); }
+        @Override public int slice(int idx, long time, int remaining, long horizon) { return untilHorizon(time, remaining, horizon); }
+        @Override public void expired(int idx, long time, int remaining) { arrived(idx, time); } // Keeps its priority
+        @Override public void completed(int idx, long time) { }
+        @Override public String name() { return CPUSchedulingSimulator.ALGORITHMS[CPUSchedulingSimulator.AGING]; }
+    }
+
+    // Multilevel feedback: FB-1 with a quantum of 1 on every level, FB-2i with a quantum of 2^i on level i.
+    // New processes enter level 0 and a preempted process drops one level, unless no other process is waiting.
+    // A process's level is its state in the process columns, so it moves along when the process is stolen.
+    static final class Feedback implements SchedulingPolicy {
+        private final boolean doubling;
+        private ProcessColumns processes;
+        private FeedbackQueues ready;
+
+        Feedback(boolean doubling) {
+            this.doubling = doubling;
+        }
+
+        @Override
+        public void start(ProcessColumns processes) {
+            this.processes = processes;
+            ready = new FeedbackQueues(processes.capacity());
+        }
+
+        @Override public void arrived(int idx, long time) { ready.add(processes.state(idx), idx); }
+        @Override public int dispatch(long time) { return ready.isEmpty() ? -1 : ready.poll(ready.topLevel()); }
+        @Override public int waiting() { return ready.size(); }
+
+        @Override
+        public int slice(int idx, long time, int remaining, long horizon) {
+            long quantum = FeedbackQueues.quantum(processes.state(idx), doubling);
+            if (!ready.isEmpty()) {
+                return (int) Math.min(quantum, remaining);
+            }
+            // A process alone keeps its level, so it runs whole quanta until one ends at or after
+            // the horizon instead of being rescheduled after every quantum
+            long gap = horizon - time;
+            if (gap >= remaining) {
+                return remaining;
+            }
+            return (int) Math.min(remaining, Math.max(quantum, (gap + quantum - 1) / quantum * quantum));
+        }
+
+        @Override
+        public void expired(int idx, long time, int remaining) {
+            int level = processes.state(idx);
+            if (!ready.isEmpty() && level < FeedbackQueues.LEVELS - 1) {
+                processes.setState(idx, ++level);
+            }
+            ready.add(level, idx);
+        }
+
+        @Override public void completed(int idx, long time) { }
+
+        @Override
+        public String name() {
+            return CPUSchedulingSimulator.ALGORITHMS[doubling ? CPUSchedulingSimulator.FB_2I : CPUSchedulingSimulator.FB_1];
+        }
+    }
+}
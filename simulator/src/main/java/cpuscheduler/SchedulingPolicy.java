@@ -0,0 +1,52 @@
+package cpuscheduler;
+
+// A scheduling algorithm for one CPU's ready queue, run by the simulator's event engines: the single-CPU
+// engine (see CPUSchedulingSimulator.runPolicy), every core of MultiCoreScheduler (one instance per core)
+// and OnlineScheduler. The engine owns the clock, the arrivals, the process columns and the recording of
+// every run, completion and statistic; a policy only keeps the ready processes in its own order and sizes
+// each slice. Processes are plain int ids, indices into the ProcessColumns, and every callback takes and
+// returns primitives, so a policy whose structures grow with the columns schedules without boxing or garbage.
+// The built-in algorithms are implemented on this interface (see SchedulingPolicies).
+//
+// One scheduling decision, with time jumping from event to event:
+//   arrived() for every process whose arrival time has come, then dispatch() takes a process out of the
+//   ready ones (the clock jumps to the next arrival if there is none) and slice() says how long it runs;
+//   after the slice either completed(), or arrived() for the processes that came meanwhile and
+//   expired() for the preempted one, which is ready again.
+// A decision costs three calls, so the engine stays cheap when it sees many policies in one JVM
+// and cannot inline them. The engines check every answer and fail with an IllegalStateException
+// when a policy dispatches a process that is not ready or sizes a slice out of range.
+public interface SchedulingPolicy {
+
+    // Called once before a run with the columns of the processes it will see
+    void start(ProcessColumns processes);
+
+    // Process idx became ready at time: it arrived (at its arrival time, or at the end of the slice during
+    // which it arrived), or it was stolen from another core with its remaining time and state
+    void arrived(int idx, long time);
+
+    // Removes and returns the process to run at time, or returns -1 if no process is ready.
+    // A multi-core engine also calls it to hand a ready process over to an idle core.
+    int dispatch(long time);
+
+    // Number of ready processes, the dispatched one not included; for work stealing and metrics
+    int waiting();
+
+    // Ticks the dispatched process runs before the next decision, at most remaining and at least 1 unless
+    // remaining is 0. The choice may next change at horizon, the next arrival on this CPU (Long.MAX_VALUE
+    // if none is known), so a preemptive policy need not run a slice past it.
+    int slice(int idx, long time, int remaining, long horizon);
+
+    // The slice ended before idx finished (quantum expiry or preemption) and it is ready again; the
+    // processes that arrived during the slice were passed to arrived() first
+    void expired(int idx, long time, int remaining);
+
+    // idx finished at time; called before the processes that arrived during its last slice are admitted.
+    // Its index may be reused for a later process afterwards.
+    void completed(int idx, long time);
+
+    // Name printed in the reports
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,241 @@
+package cpuscheduler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Long-running simulation service: an HTTP server on the loopback interface that runs batch requests
+// in one warm JVM, so many small runs pay neither the JVM startup nor the JIT warmup each time.
+//
+//   POST /simulate?algorithms=FCFS,RR-2&output=trace&format=json    body: the workload, one "name arrival service" per line
+//   GET  /simulate?generate=1000&seed=3&compare                     generated workload, no body
+//
+// Query parameters are the batch options without their dashes (algorithms, quantum, output, format,
+// compare, sweep, generate, arrivals, service, seed, cpus, steal, window, processes, downsample); the response is the report batch
+// mode would print, as text or with format=json as JSON, encoded in UTF-8. Invalid requests, and requests
+// above the limits below (generate, sweep, cpus) that would tie up the shared JVM, get a 400 with the message;
+// workloads, traces and reports larger than the limits below get a 413, so no request can exhaust the heap.
+// Every request runs on its own simulator instance, so requests never share state apart from the
+// optional ResultCache, and each runs on a virtual thread where the JVM has them (Java 21+).
+class SimulationServer {
+    static final String PATH = "/simulate";
+
+    // Batch options a request may set; the others name files or modes of the command line
+    static final int MAX_GENERATE = 1_000_000; // Processes a request may generate
+    static final int MAX_SWEEP = 1_000;        // Quanta a sweep may run
+    static final int MAX_CPUS = 1_024;
+    static final long MAX_BODY = 64L << 20;          // Bytes of a posted workload
+    static final int MAX_PROCESSES = MAX_GENERATE;   // Processes of a posted workload
+    static final long MAX_TRACE_COLUMNS = 100_000;   // Columns of a text trace: window width / downsample
+    static final int MAX_RESPONSE = 64 << 20;        // Bytes of a report
+
+    private static final Set<String> REQUEST_OPTIONS = new HashSet<>(Arrays.asList(
+            "algorithms", "quantum", "output", "format", "compare", "sweep",
+            "generate", "arrivals", "service", "seed", "cpus", "steal", "window", "processes", "downsample"));
+
+    private final ResultCache cache;
+
+    private SimulationServer(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    // Starts serving on the local port (0 picks a free one); requests keep the JVM running
+    static HttpServer start(int port, ResultCache cache) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        SimulationServer handler = new SimulationServer(cache);
+        server.createContext(PATH, handler::handle);
+        server.setExecutor(requestExecutor());
+        server.start();
+        System.out.println("Listening on http://127.0.0.1:" + server.getAddress().getPort() + PATH);
+        return server;
+    }
+
+    // One virtual thread per request on Java 21+, looked up reflectively as the build targets Java 8;
+    // a cached pool of platform threads otherwise
+    static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(); // Before Java 21, or with virtual threads still in preview
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            BatchOptions options = BatchOptions.parse(arguments(exchange.getRequestURI().getRawQuery()));
+            if (options.binary || options.output.equals(CPUSchedulingSimulator.WORKLOAD)) {
+                throw new IllegalArgumentException("Requests return trace, stats or summary reports as text or json");
+            }
+            checkLimits(options);
+            ProcessTable table = options.generate >= 0
+                    ? new WorkloadGenerator(options.generate, options.arrivals, options.service, options.seed).toTable()
+                    : readWorkload(exchange);
+            checkTrace(options, table);
+
+            // The report is buffered, so a request that fails halfway still gets its error status
+            BoundedBuffer body = new BoundedBuffer();
+            try (ReportWriter out = ReportWriter.of(body, StandardCharsets.UTF_8)) {
+                CPUSchedulingSimulator.report(options, table, out, cache);
+            }
+            respond(exchange, 200, options.json ? "application/json" : "text/plain", body.toByteArray());
+        } catch (TooLarge e) {
+            respond(exchange, 413, "text/plain", (e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, "text/plain", (e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            respond(exchange, 500, "text/plain", (e + "\n").getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void checkLimits(BatchOptions options) {
+        if (options.generate > MAX_GENERATE) {
+            throw new IllegalArgumentException("generate is limited to " + MAX_GENERATE + " processes per request");
+        }
+        if (options.sweep && (options.sweepTo - options.sweepFrom) / options.sweepStep + 1 > MAX_SWEEP) {
+            throw new IllegalArgumentException("sweep is limited to " + MAX_SWEEP + " quanta per request");
+        }
+        if (options.cpus > MAX_CPUS) {
+            throw new IllegalArgumentException("cpus is limited to " + MAX_CPUS + " per request");
+        }
+    }
+
+    // Reads the posted workload, giving up as soon as it goes past MAX_BODY bytes or MAX_PROCESSES processes
+    private static ProcessTable readWorkload(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length.trim()) > MAX_BODY) {
+            throw new TooLarge("The workload is limited to " + MAX_BODY + " bytes per request");
+        }
+        WorkloadReader reader = new WorkloadReader(new BoundedBody(exchange.getRequestBody()));
+        ProcessTable table = new ProcessTable(1024);
+        while (reader.next()) {
+            if (table.size == MAX_PROCESSES) {
+                throw new TooLarge("The workload is limited to " + MAX_PROCESSES + " processes per request");
+            }
+            table.add(reader.name, reader.arrival, reader.service);
+        }
+        return table;
+    }
+
+    // Text traces print a column per window tick (or per downsampled bucket) for every process, so their
+    // size is known before simulating
+    private static void checkTrace(BatchOptions options, ProcessTable table) {
+        if (!options.output.equals(CPUSchedulingSimulator.TRACE) || options.json || options.compare || options.sweep) {
+            return;
+        }
+        long end = CPUSchedulingSimulator.traceEnd(table);
+        long to = options.traceTo < 0 ? end : Math.min(options.traceTo, end);
+        if ((to - options.traceFrom) / options.traceStep > MAX_TRACE_COLUMNS) {
+            throw new TooLarge("Traces are limited to " + MAX_TRACE_COLUMNS + " columns per request: narrow the window or downsample it");
+        }
+    }
+
+    // Turns the query "a=1&b" into the arguments "--a 1 --b"; the workload comes from the request body
+    // unless the query generates one
+    private static String[] arguments(String query) throws UnsupportedEncodingException {
+        List<String> args = new ArrayList<>();
+        boolean generated = false;
+        if (query != null && !query.isEmpty()) {
+            for (String parameter : query.split("&")) {
+                int eq = parameter.indexOf('=');
+                String name = URLDecoder.decode(eq < 0 ? parameter : parameter.substring(0, eq), "UTF-8");
+                if (!REQUEST_OPTIONS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown request parameter " + name);
+                }
+                generated |= name.equals("generate");
+                args.add("--" + name);
+                if (eq >= 0) {
+                    args.add(URLDecoder.decode(parameter.substring(eq + 1), "UTF-8"));
+                }
+            }
+        }
+        if (!generated) {
+            args.add("--workload");
+            args.add("-");
+        }
+        return args.toArray(new String[0]);
+    }
+
+    // A request beyond a size limit, answered with 413
+    private static final class TooLarge extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TooLarge(String message) {
+            super(message);
+        }
+    }
+
+    // Request body that stops being read past MAX_BODY bytes
+    private static final class BoundedBody extends FilterInputStream {
+        private long left = MAX_BODY;
+
+        BoundedBody(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --left < 0) {
+                throw new TooLarge("The workload is limited to " + MAX_BODY + " bytes per request");
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, (int) Math.min(len, left + 1));
+            if (n > 0 && (left -= n) < 0) {
+                throw new TooLarge("The workload is limited to " + MAX_BODY + " bytes per request");
+            }
+            return n;
+        }
+    }
+
+    // Report buffer that gives up past MAX_RESPONSE bytes
+    private static final class BoundedBuffer extends ByteArrayOutputStream {
+        @Override
+        public synchronized void write(int b) {
+            check(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            check(len);
+            super.write(b, off, len);
+        }
+
+        private void check(int len) {
+            if (count + (long) len > MAX_RESPONSE) {
+                throw new TooLarge("Reports are limited to " + MAX_RESPONSE + " bytes per request");
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String type, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", type + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
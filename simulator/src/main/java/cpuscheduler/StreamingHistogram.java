@@ -0,0 +1,64 @@
+package cpuscheduler;
+
+// Fixed-memory histogram of non-negative long values for streaming percentiles.
+// Buckets are log-linear: values below 256 get a bucket each, larger values are split into 128
+// buckets per power of two, so a bucket's bounds are within 1/128 (0.8%) of each other whatever the
+// magnitude, and the whole long range fits in 7296 counters.
+// A percentile is reported as the upper bound of the bucket it falls in, capped at the exact maximum.
+class StreamingHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS; // Buckets per power of two
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long max = 0;
+
+    void record(long value) {
+        counts[index(Math.max(value, 0))]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    long count() {
+        return count;
+    }
+
+    long max() {
+        return max;
+    }
+
+    // Smallest recorded value v such that at least the given fraction of the values is <= v,
+    // to within the bucket precision
+    long percentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // Keeps the top SUB_BITS + 1 bits
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long upperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
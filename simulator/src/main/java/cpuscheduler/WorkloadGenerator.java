@@ -0,0 +1,161 @@
+package cpuscheduler;
+
+import java.util.SplittableRandom;
+
+// Reproducible synthetic workloads. Processes are produced one at a time by next(), with the same
+// fields as WorkloadReader, so they can be streamed into a process table or out to a file without
+// ever being collected. Generated processes are named P1, P2, ... after their position.
+//
+// Arrival patterns (gaps between consecutive arrivals):
+//   steady:<max>                 uniform gap in [0, max]
+//   poisson:<mean>               exponential gap with the given mean (a Poisson arrival process)
+//   bursty:<size>:<mean>         bursts of <size> simultaneous arrivals, exponential gap between bursts
+// Service time distributions (always at least 1):
+//   uniform:<min>:<max>
+//   exponential:<mean>
+//   bimodal:<short>:<long>:<p>   exponential around <long> with probability p, around <short> otherwise
+//   pareto:<alpha>:<min>         heavy-tailed, P(S > s) = (min / s)^alpha
+class WorkloadGenerator {
+    private static final int MAX_SERVICE = 1 << 30;
+
+    private final SplittableRandom random;
+    private final int count;
+    private final String arrivals;
+    private final double[] arrivalParams;
+    private final String services;
+    private final double[] serviceParams;
+    private long time = 0;
+
+    // Fields of the process produced by the last successful call to next()
+    int index = -1;
+    int arrival;
+    int service;
+
+    WorkloadGenerator(int count, String arrivalSpec, String serviceSpec, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Process count must not be negative: " + count);
+        }
+        this.count = count;
+        this.random = new SplittableRandom(seed);
+        this.arrivals = kind(arrivalSpec);
+        this.arrivalParams = params(arrivalSpec);
+        this.services = kind(serviceSpec);
+        this.serviceParams = params(serviceSpec);
+        validate(arrivalSpec, serviceSpec);
+    }
+
+    // Produces the next process; returns false once count processes have been generated
+    boolean next() {
+        if (index + 1 >= count) {
+            return false;
+        }
+        index++;
+        if (index > 0) {
+            time += gap();
+        }
+        if (time > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arrival times overflow after " + index + " processes");
+        }
+        arrival = (int) time;
+        service = serviceTime();
+        return true;
+    }
+
+    // Name of the process produced by the last call to next()
+    String name() {
+        return "P" + (index + 1);
+    }
+
+    // Generates every remaining process into a table without keeping names
+    ProcessTable toTable() {
+        ProcessTable table = new ProcessTable(count);
+        while (next()) {
+            table.add(null, arrival, service);
+        }
+        return table;
+    }
+
+    // Writes every remaining process as "name arrival service" lines, the WorkloadReader format
+    void write(ReportWriter out) {
+        while (next()) {
+            out.print('P').print(index + 1, 0).print(' ').print(arrival, 0).print(' ').print(service, 0).println();
+        }
+    }
+
+    private long gap() {
+        switch (arrivals) {
+            case "steady":
+                return random.nextInt((int) arrivalParams[0] + 1);
+            case "poisson":
+                return (long) exponential(arrivalParams[0]);
+            default: // bursty
+                return index % (long) arrivalParams[0] == 0 ? (long) exponential(arrivalParams[1]) : 0;
+        }
+    }
+
+    private int serviceTime() {
+        double s;
+        switch (services) {
+            case "uniform":
+                s = serviceParams[0] + random.nextInt((int) (serviceParams[1] - serviceParams[0]) + 1);
+                break;
+            case "exponential":
+                s = Math.ceil(exponential(serviceParams[0]));
+                break;
+            case "bimodal":
+                s = Math.ceil(exponential(random.nextDouble() < serviceParams[2] ? serviceParams[1] : serviceParams[0]));
+                break;
+            default: // pareto
+                s = Math.ceil(serviceParams[1] / Math.pow(1 - random.nextDouble(), 1 / serviceParams[0]));
+                break;
+        }
+        return (int) Math.max(1, Math.min(s, MAX_SERVICE));
+    }
+
+    private double exponential(double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    private static String kind(String spec) {
+        int colon = spec.indexOf(':');
+        return colon < 0 ? spec : spec.substring(0, colon);
+    }
+
+    private static double[] params(String spec) {
+        String[] parts = spec.split(":");
+        double[] values = new double[parts.length - 1];
+        for (int i = 1; i < parts.length; i++) {
+            try {
+                values[i - 1] = Double.parseDouble(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number '" + parts[i] + "' in " + spec);
+            }
+            if (!(values[i - 1] >= 0)) {
+                throw new IllegalArgumentException("Parameters must not be negative in " + spec);
+            }
+        }
+        return values;
+    }
+
+    private void validate(String arrivalSpec, String serviceSpec) {
+        boolean ok;
+        switch (arrivals) {
+            case "steady": case "poisson": ok = arrivalParams.length == 1; break;
+            case "bursty": ok = arrivalParams.length == 2 && arrivalParams[0] >= 1; break;
+            default: throw new IllegalArgumentException("Unknown arrival pattern " + arrivalSpec);
+        }
+        if (!ok) {
+            throw new IllegalArgumentException("Invalid arrival pattern " + arrivalSpec);
+        }
+        switch (services) {
+            case "uniform": ok = serviceParams.length == 2 && serviceParams[0] <= serviceParams[1]; break;
+            case "exponential": ok = serviceParams.length == 1; break;
+            case "bimodal": ok = serviceParams.length == 3 && serviceParams[2] <= 1; break;
+            case "pareto": ok = serviceParams.length == 2 && serviceParams[0] > 0 && serviceParams[1] > 0; break;
+            default: throw new IllegalArgumentException("Unknown service time distribution " + serviceSpec);
+        }
+        if (!ok) {
+            throw new IllegalArgumentException("Invalid service time distribution " + serviceSpec);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package cpuscheduler;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+// Streaming parser for workload files with one "name arrival service" process per line.
+// Bytes are scanned straight out of a reusable buffer and numbers are parsed in place, so the only
+// allocation per process is its name. Blank lines and anything after a '#' are ignored.
+class WorkloadReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos = 0;
+    private int limit = 0;
+    private boolean eof = false;
+    private int line = 1;
+    private Runnable onWait; // Run before a read that would block, null for none
+
+    // Fields of the process read by the last successful call to next()
+    String name;
+    int arrival;
+    int service;
+
+    WorkloadReader(InputStream in) {
+        this.in = in;
+    }
+
+    // Reader for a workload file, or for standard input when the path is "-"
+    static WorkloadReader open(String path) throws IOException {
+        return new WorkloadReader("-".equals(path) ? System.in : Files.newInputStream(Paths.get(path)));
+    }
+
+    // Reader that follows a file as it grows, like tail -f: at the end of the file it waits for more
+    // lines instead of stopping, so it only ends when the process is stopped
+    static WorkloadReader follow(String path) throws IOException {
+        return new WorkloadReader(new Tail(Files.newInputStream(Paths.get(path))));
+    }
+
+    // Reads a whole workload into a process table; binary workload files (see BinaryWorkload) are mapped
+    // and copied column by column instead of being parsed
+    static ProcessTable readAll(String path) throws IOException {
+        if (BinaryWorkload.detect(path)) {
+            try (BinaryWorkload workload = BinaryWorkload.open(path)) {
+                return workload.toTable();
+            }
+        }
+        try (WorkloadReader reader = open(path)) {
+            return reader.toTable();
+        }
+    }
+
+    // Reads every remaining process into a process table
+    ProcessTable toTable() throws IOException {
+        ProcessTable table = new ProcessTable(1024);
+        while (next()) {
+            table.add(name, arrival, service);
+        }
+        return table;
+    }
+
+    // Parses the next process; returns false at the end of the input
+    boolean next() throws IOException {
+        if (!skipBlank()) {
+            return false;
+        }
+        int start = token();
+        name = new String(buf, start, pos - start, StandardCharsets.UTF_8);
+        arrival = number();
+        service = number();
+        if (skipSpaces() && buf[pos] != '\n' && buf[pos] != '\r' && buf[pos] != '#') {
+            throw error("expected end of line after the service time");
+        }
+        return true;
+    }
+
+    // Sets an action to run whenever the reader is about to wait for more input,
+    // e.g. flushing the output of a run that streams results while it reads
+    void onWait(Runnable action) {
+        onWait = action;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != System.in) {
+            in.close();
+        }
+    }
+
+    // Skips whitespace, line breaks and comments; returns false at the end of the input
+    private boolean skipBlank() throws IOException {
+        while (available()) {
+            byte b = buf[pos];
+            if (b == '#') {
+                while (available() && buf[pos] != '\n') {
+                    pos++;
+                }
+            } else if (b == '\n') {
+                line++;
+                pos++;
+            } else if (b == ' ' || b == '\t' || b == '\r') {
+                pos++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Skips spaces and tabs on the current line; returns false at the end of the input
+    private boolean skipSpaces() throws IOException {
+        while (available() && (buf[pos] == ' ' || buf[pos] == '\t')) {
+            pos++;
+        }
+        return available();
+    }
+
+    // Advances over one token and returns its start; the whole token stays in the buffer
+    private int token() throws IOException {
+        int start = pos;
+        while (true) {
+            if (pos == limit) {
+                if (eof) {
+                    return start;
+                }
+                if (start == 0 && limit == buf.length) {
+                    throw error("token longer than " + buf.length + " bytes");
+                }
+                // Move the partial token to the front and read the rest of it
+                System.arraycopy(buf, start, buf, 0, limit - start);
+                pos -= start;
+                limit -= start;
+                start = 0;
+                fill();
+                continue;
+            }
+            byte b = buf[pos];
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '#') {
+                return start;
+            }
+            pos++;
+        }
+    }
+
+    private int number() throws IOException {
+        if (!skipSpaces() || buf[pos] == '\n' || buf[pos] == '\r' || buf[pos] == '#') {
+            throw error("expected name, arrival time and service time");
+        }
+        int start = token();
+        long value = 0;
+        for (int i = start; i < pos; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                throw error("invalid number '" + new String(buf, start, pos - start, StandardCharsets.UTF_8) + "'");
+            }
+            value = value * 10 + digit;
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw error("number out of range");
+        }
+        return (int) value;
+    }
+
+    private boolean available() throws IOException {
+        if (pos < limit) {
+            return true;
+        }
+        pos = 0;
+        limit = 0;
+        fill();
+        return pos < limit;
+    }
+
+    private void fill() throws IOException {
+        while (!eof && limit < buf.length) {
+            if (onWait != null && in.available() == 0) {
+                onWait.run();
+            }
+            int n = in.read(buf, limit, buf.length - limit);
+            if (n < 0) {
+                eof = true;
+            } else if (n > 0) {
+                limit += n;
+                return;
+            }
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("workload line " + line + ": " + message);
+    }
+
+    // Input stream that polls for appended data at the end of the file instead of reporting it
+    private static final class Tail extends FilterInputStream {
+        private static final long POLL_MILLIS = 200;
+
+        Tail(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                int n = in.read(b, off, len);
+                if (n >= 0) {
+                    return n;
+                }
+                try {
+                    Thread.sleep(POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return -1;
+                }
+            }
+        }
+    }
+}
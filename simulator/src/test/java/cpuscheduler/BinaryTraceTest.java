@@ -0,0 +1,104 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryTraceTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsRuns() throws IOException {
+        ExecutionTimeline first = new ExecutionTimeline(3);
+        first.run(0, 0, 2);
+        first.run(1, 2, 4);
+        first.run(0, 4, 5);
+        first.run(2, 5, 6);
+        ExecutionTimeline second = new ExecutionTimeline(3);
+        second.run(0, 0, 5, 0);
+        second.run(1, 2, 3, 1);
+        second.run(2, 4, 5, 1);
+        second.run(1, 5, 7, 0);
+        Path file = directory.resolve("t.cpt");
+        try (BinaryTrace.Writer writer = new BinaryTrace.Writer(file, 3)) {
+            writer.write(CPUSchedulingSimulator.RR, 2, 1, new int[] {5, 4, 6}, first);
+            writer.write(CPUSchedulingSimulator.SRT, 9, 2, new int[] {5, 7, 5}, second);
+        }
+        try (BinaryTrace trace = BinaryTrace.open(file.toString())) {
+            assertEquals(3, trace.processCount());
+            assertTrue(trace.next());
+            assertEquals(CPUSchedulingSimulator.RR, trace.algorithm);
+            assertEquals(2, trace.quantum);
+            assertEquals(1, trace.cpus);
+            assertArrayEquals(new int[] {5, 4, 6}, trace.finish);
+            assertSegments(first, trace.timeline, 3);
+            assertTrue(trace.next());
+            assertEquals(CPUSchedulingSimulator.SRT, trace.algorithm);
+            assertEquals(-1, trace.quantum); // Only kept for RR
+            assertEquals(2, trace.cpus);
+            assertArrayEquals(new int[] {5, 7, 5}, trace.finish);
+            assertSegments(second, trace.timeline, 3);
+            assertFalse(trace.next());
+        }
+    }
+
+    @Test
+    void replayPrintsTheSimulatedReports() throws IOException {
+        String file = directory.resolve("t.cpt").toString();
+        String[] workload = {"--generate", "300", "--seed", "4"};
+        String[] runs = concat(workload, "--cpus", "2", "--steal", "--algorithms", "FCFS,RR-3,SRT,HRRN,FB-2i");
+        assertEquals("", Console.run("", concat(runs, "--output", "trace", "--format", "binary", "--out", file)));
+        for (String output : new String[] {"trace", "stats", "summary"}) {
+            String simulated = Console.run("", concat(runs, "--output", output));
+            assertEquals(simulated, Console.run("", concat(workload, "--replay", file, "--output", output)), output);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedRuns() throws IOException {
+        ExecutionTimeline timeline = new ExecutionTimeline(1);
+        timeline.run(0, 0, 3);
+        Path file = directory.resolve("t.cpt");
+        try (BinaryTrace.Writer writer = new BinaryTrace.Writer(file, 1)) {
+            writer.write(CPUSchedulingSimulator.FCFS, -1, 1, new int[] {3}, timeline);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 4);
+        }
+        try (BinaryTrace trace = BinaryTrace.open(file.toString())) {
+            assertThrows(IllegalArgumentException.class, trace::next);
+        }
+    }
+
+    private static void assertSegments(ExecutionTimeline expected, ExecutionTimeline actual, int processCount) {
+        assertEquals(expected.segments(), actual.segments());
+        for (int idx = 0; idx < processCount; idx++) {
+            int a = actual.firstSegment(idx);
+            for (int e = expected.firstSegment(idx); e >= 0; e = expected.nextSegment(e), a = actual.nextSegment(a)) {
+                assertTrue(a >= 0, "missing segment of process " + idx);
+                assertEquals(expected.start(e), actual.start(a));
+                assertEquals(expected.end(e), actual.end(a));
+                assertEquals(expected.core(e), actual.core(a));
+            }
+            assertEquals(-1, a);
+        }
+    }
+
+    private static String[] concat(String[] head, String... tail) {
+        String[] all = Arrays.copyOf(head, head.length + tail.length);
+        System.arraycopy(tail, 0, all, head.length, tail.length);
+        return all;
+    }
+}
@@ -0,0 +1,112 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryWorkloadTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsNamedProcesses() throws IOException {
+        ProcessTable table = new ProcessTable(2);
+        table.add("P1", 0, 5);
+        table.add("shell", 2, 3);
+        table.add(null, 2, 7);      // Unnamed among named ones: called after its position
+        table.add("shell", 9, 1);   // Repeated name, stored once
+        table.add("na\u00efve\u2192\u03c0", 11, 2); // Multi-byte UTF-8
+        ProcessTable read = roundTrip(table);
+        assertColumns(table, read);
+        for (int i = 0; i < table.size; i++) {
+            assertEquals(table.name(i), read.name(i));
+        }
+        assertEquals("P3", read.name(2));
+    }
+
+    @Test
+    void roundTripsUnnamedProcesses() throws IOException {
+        ProcessTable table = new WorkloadGenerator(1000, "poisson:2", "exponential:5", 3).toTable();
+        ProcessTable read = roundTrip(table);
+        assertColumns(table, read);
+        assertNull(read.name); // Generated workloads have no name column
+        assertEquals(table.fingerprint(), read.fingerprint());
+    }
+
+    @Test
+    void readsProcessesOneAtATime() throws IOException {
+        ProcessTable table = new ProcessTable(3);
+        table.add("a", 1, 2);
+        table.add(null, 3, 4);
+        Path file = directory.resolve("w.cpw");
+        BinaryWorkload.write(table, file);
+        try (BinaryWorkload workload = BinaryWorkload.open(file.toString())) {
+            assertEquals(2, workload.size());
+            assertTrue(workload.next());
+            assertEquals("a", workload.name());
+            assertEquals(1, workload.arrival);
+            assertEquals(2, workload.service);
+            assertTrue(workload.next());
+            assertEquals("P2", workload.name());
+            assertEquals(3, workload.arrival);
+            assertEquals(4, workload.service);
+            assertFalse(workload.next());
+        }
+    }
+
+    @Test
+    void detectsBinaryWorkloads() throws IOException {
+        ProcessTable table = new ProcessTable(1);
+        table.add("P1", 0, 1);
+        Path binary = directory.resolve("w.cpw");
+        BinaryWorkload.write(table, binary);
+        Path text = Files.write(directory.resolve("w.txt"), "P1 0 1\n".getBytes("UTF-8"));
+        Path empty = Files.createFile(directory.resolve("empty"));
+        assertTrue(BinaryWorkload.detect(binary.toString()));
+        assertFalse(BinaryWorkload.detect(text.toString()));
+        assertFalse(BinaryWorkload.detect(empty.toString()));
+        assertFalse(BinaryWorkload.detect("-"));
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        ProcessTable table = new ProcessTable(2);
+        table.add("first", 0, 1);
+        table.add("second", 1, 1);
+        Path file = directory.resolve("w.cpw");
+        BinaryWorkload.write(table, file);
+        long size = Files.size(file);
+        for (long cut : new long[] {size - 1, size - 10, 20, 3}) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(cut);
+            }
+            assertThrows(IllegalArgumentException.class, () -> BinaryWorkload.open(file.toString()).close(), "cut at " + cut);
+        }
+    }
+
+    private ProcessTable roundTrip(ProcessTable table) throws IOException {
+        Path file = directory.resolve("w.cpw");
+        BinaryWorkload.write(table, file);
+        try (BinaryWorkload workload = BinaryWorkload.open(file.toString())) {
+            return workload.toTable();
+        }
+    }
+
+    private static void assertColumns(ProcessTable expected, ProcessTable actual) {
+        assertEquals(expected.size, actual.size);
+        assertArrayEquals(Arrays.copyOf(expected.arrival, expected.size), Arrays.copyOf(actual.arrival, actual.size));
+        assertArrayEquals(Arrays.copyOf(expected.service, expected.size), Arrays.copyOf(actual.service, actual.size));
+    }
+}
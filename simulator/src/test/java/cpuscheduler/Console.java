@@ -0,0 +1,31 @@
+package cpuscheduler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+
+// Runs CPUSchedulingSimulator.main with the given standard input and returns what it printed, with
+// line separators normalized to '\n'
+final class Console {
+
+    private Console() {
+    }
+
+    static synchronized String run(String input, String... args) throws UnsupportedEncodingException {
+        InputStream in = System.in;
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        try {
+            System.setIn(new ByteArrayInputStream(input.getBytes("UTF-8")));
+            System.setOut(new PrintStream(printed, true, "UTF-8"));
+            CPUSchedulingSimulator.main(args);
+        } finally {
+            System.out.flush();
+            System.setIn(in);
+            System.setOut(out);
+        }
+        return printed.toString("UTF-8").replace(System.lineSeparator(), "\n");
+    }
+}
@@ -0,0 +1,90 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// FeedbackQueues against one ArrayDeque per level and a scan for the highest non-empty level
+class FeedbackQueuesTest {
+    private static final int PROCESSES = 500;
+
+    @Test
+    void matchesDequePerLevel() {
+        Random random = new Random(6);
+        FeedbackQueues queues = new FeedbackQueues(1);
+        ArrayDeque<Integer>[] levels = newLevels();
+        boolean[] queued = new boolean[PROCESSES];
+        int size = 0;
+        for (int step = 0; step < 100_000; step++) {
+            int idx = random.nextInt(PROCESSES);
+            if (random.nextBoolean() && !queued[idx]) {
+                // Mostly the first levels, so they hold several processes; sometimes past the last one
+                int level = random.nextInt(8) > 0 ? random.nextInt(70) : random.nextInt(2 * FeedbackQueues.LEVELS);
+                queues.add(level, idx);
+                levels[Math.min(level, FeedbackQueues.LEVELS - 1)].add(idx);
+                queued[idx] = true;
+                size++;
+            } else if (size > 0) {
+                int top = topLevel(levels);
+                assertEquals(top, queues.topLevel());
+                // Usually the top level, as the policies do, but any non-empty level may be polled
+                int level = random.nextInt(4) > 0 ? top : someLevel(levels, random);
+                int expected = levels[level].poll();
+                assertEquals(expected, queues.poll(level));
+                queued[expected] = false;
+                size--;
+            }
+            assertEquals(size, queues.size());
+            assertEquals(size == 0, queues.isEmpty());
+        }
+        while (size-- > 0) {
+            int top = topLevel(levels);
+            assertEquals(top, queues.topLevel());
+            assertEquals((int) levels[top].poll(), queues.poll(top));
+        }
+        assertTrue(queues.isEmpty());
+    }
+
+    @Test
+    void quantumDoublesPerLevel() {
+        assertEquals(1, FeedbackQueues.quantum(0, false));
+        assertEquals(1, FeedbackQueues.quantum(40, false));
+        assertEquals(1, FeedbackQueues.quantum(0, true));
+        assertEquals(8, FeedbackQueues.quantum(3, true));
+        assertEquals(1L << 62, FeedbackQueues.quantum(FeedbackQueues.LEVELS - 1, true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<Integer>[] newLevels() {
+        ArrayDeque<Integer>[] levels = new ArrayDeque[FeedbackQueues.LEVELS];
+        for (int level = 0; level < levels.length; level++) {
+            levels[level] = new ArrayDeque<>();
+        }
+        return levels;
+    }
+
+    private static int topLevel(ArrayDeque<Integer>[] levels) {
+        for (int level = 0; level < levels.length; level++) {
+            if (!levels[level].isEmpty()) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    // A random non-empty level
+    private static int someLevel(ArrayDeque<Integer>[] levels, Random random) {
+        List<Integer> nonEmpty = new ArrayList<>();
+        for (int level = 0; level < levels.length; level++) {
+            if (!levels[level].isEmpty()) {
+                nonEmpty.add(level);
+            }
+        }
+        return nonEmpty.get(random.nextInt(nonEmpty.size()));
+    }
+}
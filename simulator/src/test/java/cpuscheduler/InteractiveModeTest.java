@@ -0,0 +1,17 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class InteractiveModeTest {
+    @Test
+    void rejectsQuantaBelowOne() throws IOException {
+        for (String quantum : new String[] {"0", "-3"}) {
+            String printed = Console.run("2\nA 0 3\nB 1 2\n2\n" + quantum + "\n2\n");
+            assertTrue(printed.endsWith("Enter quantum for Round Robin: Invalid quantum: it must be at least 1.\n"), printed);
+        }
+        assertTrue(Console.run("2\nA 0 3\nB 1 2\n2\n1\n2\n").contains("\nRR-1\n"));
+    }
+}
@@ -0,0 +1,63 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// ReadyHeap against a linear scan over the queued processes, with decrease-key and growth past the
+// initial capacity
+class ReadyHeapTest {
+    private static final int PROCESSES = 200;
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(3);
+        ReadyHeap heap = new ReadyHeap(4);
+        long[] key = new long[PROCESSES];
+        boolean[] queued = new boolean[PROCESSES];
+        int size = 0;
+        for (int step = 0; step < 100_000; step++) {
+            int idx = random.nextInt(PROCESSES);
+            int op = random.nextInt(3);
+            if (op == 0 && !queued[idx]) {
+                key[idx] = random.nextInt(50); // Few distinct keys, so ties are common
+                heap.add(idx, key[idx]);
+                queued[idx] = true;
+                size++;
+            } else if (op == 1 && queued[idx] && key[idx] > 0) {
+                key[idx] -= 1 + random.nextInt((int) key[idx]);
+                heap.decreaseKey(idx, key[idx]);
+            } else if (op == 2 && size > 0) {
+                int expected = smallest(key, queued);
+                assertEquals(expected, heap.peek());
+                assertEquals(expected, heap.poll());
+                queued[expected] = false;
+                size--;
+            }
+            assertEquals(size, heap.size());
+            assertEquals(queued[idx], heap.contains(idx));
+            if (queued[idx]) {
+                assertEquals(key[idx], heap.keyOf(idx));
+            }
+        }
+        for (; size > 0; size--) {
+            int expected = smallest(key, queued);
+            assertEquals(expected, heap.poll());
+            queued[expected] = false;
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    // Smallest key, ties to the lower index
+    private static int smallest(long[] key, boolean[] queued) {
+        int best = -1;
+        for (int i = 0; i < key.length; i++) {
+            if (queued[i] && (best < 0 || key[i] < key[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,224 @@
+package cpuscheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// The algorithms as the original simulator ran them: a scan over every process at each decision (or at
+// each tick for SRT and AGING), with no ready structure at all. Slow but obviously right, so the event
+// engine, the heaps and the lazy priorities are checked against it.
+// Processes must be given in arrival order, as the original loops assumed. The only departure is FCFS,
+// which the original started at the previous finish even before the next arrival.
+final class ReferenceScheduler {
+
+    private ReferenceScheduler() {
+    }
+
+    // Finish time of every process under the given algorithm
+    static int[] finishTimes(int algorithm, int quantum, int[] arrival, int[] service) {
+        switch (algorithm) {
+            case CPUSchedulingSimulator.FCFS: return firstComeFirstServe(arrival, service);
+            case CPUSchedulingSimulator.RR: return roundRobin(quantum, arrival, service);
+            case CPUSchedulingSimulator.SPN: return shortestProcessNext(arrival, service);
+            case CPUSchedulingSimulator.SRT: return shortestRemainingTime(arrival, service);
+            case CPUSchedulingSimulator.HRRN: return highestResponseRatioNext(arrival, service);
+            case CPUSchedulingSimulator.AGING: return aging(arrival, service);
+            case CPUSchedulingSimulator.FB_1: return feedback(false, arrival, service);
+            case CPUSchedulingSimulator.FB_2I: return feedback(true, arrival, service);
+            default: throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+    }
+
+    private static int[] firstComeFirstServe(int[] arrival, int[] service) {
+        int[] finish = new int[arrival.length];
+        int time = 0;
+        for (int i = 0; i < arrival.length; i++) {
+            time = Math.max(time, arrival[i]) + service[i];
+            finish[i] = time;
+        }
+        return finish;
+    }
+
+    private static int[] roundRobin(int quantum, int[] arrival, int[] service) {
+        int n = arrival.length;
+        int[] finish = new int[n];
+        int[] remaining = service.clone();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int time = 0, next = 0, done = 0;
+        while (done < n) {
+            while (next < n && arrival[next] <= time) {
+                queue.add(next++);
+            }
+            if (queue.isEmpty()) {
+                time++;
+                continue;
+            }
+            int idx = queue.poll();
+            int run = Math.min(quantum, remaining[idx]);
+            time += run;
+            remaining[idx] -= run;
+            while (next < n && arrival[next] <= time) {
+                queue.add(next++);
+            }
+            if (remaining[idx] > 0) {
+                queue.add(idx);
+            } else {
+                finish[idx] = time;
+                done++;
+            }
+        }
+        return finish;
+    }
+
+    private static int[] shortestProcessNext(int[] arrival, int[] service) {
+        int n = arrival.length;
+        int[] finish = new int[n];
+        int time = 0;
+        for (int done = 0; done < n; ) {
+            int idx = -1;
+            for (int i = 0; i < n; i++) {
+                if (finish[i] == 0 && arrival[i] <= time && (idx < 0 || service[i] < service[idx])) {
+                    idx = i;
+                }
+            }
+            if (idx < 0) {
+                time++;
+                continue;
+            }
+            time += service[idx];
+            finish[idx] = time;
+            done++;
+        }
+        return finish;
+    }
+
+    private static int[] shortestRemainingTime(int[] arrival, int[] service) {
+        int n = arrival.length;
+        int[] finish = new int[n];
+        int[] remaining = service.clone();
+        int time = 0;
+        for (int done = 0; done < n; ) {
+            int idx = -1;
+            for (int i = 0; i < n; i++) {
+                if (remaining[i] > 0 && arrival[i] <= time && (idx < 0 || remaining[i] < remaining[idx])) {
+                    idx = i;
+                }
+            }
+            time++;
+            if (idx >= 0 && --remaining[idx] == 0) {
+                finish[idx] = time;
+                done++;
+            }
+        }
+        return finish;
+    }
+
+    private static int[] highestResponseRatioNext(int[] arrival, int[] service) {
+        int n = arrival.length;
+        int[] finish = new int[n];
+        int time = 0;
+        for (int done = 0; done < n; ) {
+            int idx = -1;
+            double best = -1;
+            for (int i = 0; i < n; i++) {
+                if (finish[i] == 0 && arrival[i] <= time) {
+                    double ratio = (time - arrival[i] + service[i]) * 1.0 / service[i];
+                    if (ratio > best) {
+                        best = ratio;
+                        idx = i;
+                    }
+                }
+            }
+            if (idx < 0) {
+                time++;
+                continue;
+            }
+            time += service[idx];
+            finish[idx] = time;
+            done++;
+        }
+        return finish;
+    }
+
+    // Every arrived process, the running one included, gains a priority point per tick
+    private static int[] aging(int[] arrival, int[] service) {
+        int n = arrival.length;
+        int[] finish = new int[n];
+        int[] remaining = service.clone();
+        int[] priority = new int[n];
+        int time = 0;
+        for (int done = 0; done < n; ) {
+            int idx = -1;
+            for (int i = 0; i < n; i++) {
+                if (remaining[i] > 0 && arrival[i] <= time) {
+                    priority[i]++;
+                    if (idx < 0 || priority[i] > priority[idx]) {
+                        idx = i;
+                    }
+                }
+            }
+            time++;
+            if (idx >= 0 && --remaining[idx] == 0) {
+                finish[idx] = time;
+                done++;
+            }
+        }
+        return finish;
+    }
+
+    // One FIFO per level; a preempted process drops a level unless no other process is waiting
+    private static int[] feedback(boolean doubling, int[] arrival, int[] service) {
+        int n = arrival.length;
+        int[] finish = new int[n];
+        int[] remaining = service.clone();
+        int[] level = new int[n];
+        List<ArrayDeque<Integer>> queues = new ArrayList<>();
+        int time = 0, next = 0, done = 0;
+        while (done < n) {
+            next = admit(queues, arrival, next, time);
+            int top = topLevel(queues);
+            if (top < 0) {
+                time = arrival[next];
+                continue;
+            }
+            int idx = queues.get(top).poll();
+            int run = Math.min(doubling ? 1 << level[idx] : 1, remaining[idx]);
+            time += run;
+            remaining[idx] -= run;
+            next = admit(queues, arrival, next, time);
+            if (remaining[idx] == 0) {
+                finish[idx] = time;
+                done++;
+                continue;
+            }
+            if (topLevel(queues) >= 0) {
+                level[idx]++;
+            }
+            queue(queues, level[idx]).add(idx);
+        }
+        return finish;
+    }
+
+    private static int admit(List<ArrayDeque<Integer>> queues, int[] arrival, int next, int time) {
+        while (next < arrival.length && arrival[next] <= time) {
+            queue(queues, 0).add(next++);
+        }
+        return next;
+    }
+
+    private static ArrayDeque<Integer> queue(List<ArrayDeque<Integer>> queues, int level) {
+        while (queues.size() <= level) {
+            queues.add(new ArrayDeque<>());
+        }
+        return queues.get(level);
+    }
+
+    private static int topLevel(List<ArrayDeque<Integer>> queues) {
+        for (int level = 0; level < queues.size(); level++) {
+            if (!queues.get(level).isEmpty()) {
+                return level;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,99 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// ResponseRatioIndex against a scan computing every response ratio at the current time, as the original
+// HRRN loop did, with ties to the lower rank
+class ResponseRatioIndexTest {
+
+    @Test
+    void matchesScanOverTableColumns() {
+        Random random = new Random(4);
+        int count = 300;
+        int[] arrival = new int[count];
+        int[] service = new int[count];
+        for (int i = 0; i < count; i++) {
+            arrival[i] = random.nextInt(400);
+            service[i] = 1 + random.nextInt(20);
+        }
+        ProcessColumns columns = new ProcessColumns(arrival, service, count);
+        check(random, columns, new ResponseRatioIndex(columns), count, count);
+    }
+
+    @Test
+    void growsWithSlotColumns() {
+        Random random = new Random(5);
+        int count = 300;
+        ProcessColumns columns = new ProcessColumns(2);
+        ResponseRatioIndex index = new ResponseRatioIndex(columns);
+        for (int slot = 0; slot < count; slot++) {
+            if (slot == columns.capacity()) {
+                columns.grow(2 * slot);
+            }
+            // Ranks run against the slots, so ties must follow the rank and not the index
+            columns.set(slot, random.nextInt(400), 1 + random.nextInt(20), 0, count - slot, 0);
+        }
+        check(random, columns, index, count, columns.capacity());
+    }
+
+    // Moves time forward in random steps, admitting arrived processes in random order and polling at random
+    private static void check(Random random, ProcessColumns columns, ResponseRatioIndex index, int count, int capacity) {
+        boolean[] added = new boolean[capacity];
+        boolean[] ready = new boolean[capacity];
+        long now = 0;
+        int polled = 0;
+        while (polled < count) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                now += random.nextInt(6);
+                index.advance(now);
+            } else if (op == 1) {
+                int idx = random.nextInt(count);
+                if (!added[idx] && columns.arrival(idx) <= now) {
+                    index.add(idx);
+                    added[idx] = ready[idx] = true;
+                }
+            } else if (!index.isEmpty()) {
+                int expected = highestRatio(columns, ready, now);
+                assertEquals(expected, index.poll(), "at time " + now);
+                ready[expected] = false;
+                polled++;
+            } else if (now < 400) {
+                now++;
+                index.advance(now);
+            } else {
+                for (int idx = 0; idx < count; idx++) {
+                    if (!added[idx]) {
+                        index.add(idx);
+                        added[idx] = ready[idx] = true;
+                    }
+                }
+            }
+        }
+        assertTrue(index.isEmpty());
+    }
+
+    // Exact comparison of (now - arrival + service) / service by cross-multiplication
+    private static int highestRatio(ProcessColumns columns, boolean[] ready, long now) {
+        int best = -1;
+        for (int i = 0; i < ready.length; i++) {
+            if (!ready[i]) {
+                continue;
+            }
+            if (best < 0) {
+                best = i;
+                continue;
+            }
+            long lhs = (now - columns.arrival(i) + columns.service(i)) * (long) columns.service(best);
+            long rhs = (now - columns.arrival(best) + columns.service(best)) * (long) columns.service(i);
+            if (lhs > rhs || lhs == rhs && columns.rank(i) < columns.rank(best)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,119 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultCacheTest {
+    private static final int[] FINISH = {4, 9, 7};
+    private static final int[] FIRST_RUN = {0, 4, 6};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsWhatWasStored() throws IOException {
+        ResultCache cache = new ResultCache(directory, 1 << 20);
+        ExecutionTimeline timeline = new ExecutionTimeline(3);
+        timeline.run(0, 0, 4, 0);
+        timeline.run(1, 4, 9, 1);
+        timeline.run(2, 6, 7, 0);
+        cache.store("traced.run", 3, 2, FINISH, FIRST_RUN, new long[] {5, 5}, timeline, 3);
+        cache.store("untraced.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+
+        ResultCache.Result traced = cache.load("traced.run", 3, true);
+        assertNotNull(traced);
+        assertEquals(2, traced.cpus);
+        assertArrayEquals(FINISH, traced.finish);
+        assertArrayEquals(FIRST_RUN, traced.firstRun);
+        assertArrayEquals(new long[] {5, 5}, traced.busy);
+        assertEquals(3, traced.timeline.segments());
+        assertEquals(1, traced.timeline.core(traced.timeline.firstSegment(1)));
+        assertEquals(3, traced.decisions);
+
+        ResultCache.Result untraced = cache.load("untraced.run", 3, false);
+        assertNotNull(untraced);
+        assertNull(untraced.busy);
+        assertNull(untraced.timeline);
+        // A trace needs the timeline: a miss, but the entry stays for statistics runs
+        assertNull(cache.load("untraced.run", 3, true));
+        assertTrue(Files.exists(directory.resolve("untraced.run")));
+        assertNull(cache.load("missing.run", 3, false));
+    }
+
+    @Test
+    void dropsCorruptEntries() throws IOException {
+        ResultCache cache = new ResultCache(directory, 1 << 20);
+        Files.write(directory.resolve("garbage.run"), "not a cache entry at all".getBytes("UTF-8"));
+        assertNull(cache.load("garbage.run", 3, false));
+        assertFalse(Files.exists(directory.resolve("garbage.run")));
+
+        cache.store("truncated.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+        Path truncated = directory.resolve("truncated.run");
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(truncated) - 4);
+        }
+        assertNull(cache.load("truncated.run", 3, false));
+        assertFalse(Files.exists(truncated));
+
+        cache.store("other.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+        assertNull(cache.load("other.run", 4, false)); // Recorded on another workload
+        assertFalse(Files.exists(directory.resolve("other.run")));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws IOException {
+        ResultCache unbounded = new ResultCache(directory, Long.MAX_VALUE);
+        unbounded.store("a.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+        long entry = Files.size(directory.resolve("a.run"));
+        Files.delete(directory.resolve("a.run"));
+
+        ResultCache cache = new ResultCache(directory, 2 * entry + entry / 2); // Room for two entries
+        cache.store("a.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+        cache.store("b.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+        Files.setLastModifiedTime(directory.resolve("a.run"), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(directory.resolve("b.run"), FileTime.fromMillis(2_000));
+        assertNotNull(cache.load("a.run", 3, false)); // Now the most recently used
+        cache.store("c.run", 3, 1, FINISH, FIRST_RUN, null, null, 3);
+        assertTrue(Files.exists(directory.resolve("a.run")));
+        assertFalse(Files.exists(directory.resolve("b.run")));
+        assertTrue(Files.exists(directory.resolve("c.run")));
+    }
+
+    @Test
+    void cachedRunsMatchSimulatedOnes() throws IOException {
+        ProcessTable table = new WorkloadGenerator(500, "bursty:4:6", "bimodal:2:20:0.2", 5).toTable();
+        ResultCache cache = new ResultCache(directory, 1 << 24);
+        for (int cpus = 1; cpus <= 2; cpus++) {
+            CPUSchedulingSimulator plain = new CPUSchedulingSimulator(table, false);
+            CPUSchedulingSimulator cached = new CPUSchedulingSimulator(table, false);
+            plain.useCpus(cpus, false);
+            cached.useCpus(cpus, false);
+            cached.useCache(cache);
+            for (int algorithm = CPUSchedulingSimulator.FCFS; algorithm <= CPUSchedulingSimulator.AGING; algorithm++) {
+                plain.runAlgorithm(algorithm, 2);
+                cached.runAlgorithm(algorithm, 2); // Simulates and stores
+                Path entry = directory.resolve(ResultCache.key(table, algorithm, 2, cpus, false));
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(1_000));
+                cached.runAlgorithm(algorithm, 2); // Restores, which touches the entry
+                assertTrue(Files.getLastModifiedTime(entry).toMillis() > 1_000);
+                for (int i = 0; i < table.size; i++) {
+                    assertEquals(plain.finishTime(i), cached.finishTime(i));
+                }
+                assertEquals(plain.decisions(), cached.decisions());
+            }
+        }
+    }
+}
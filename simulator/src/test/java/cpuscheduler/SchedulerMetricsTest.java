@@ -0,0 +1,55 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class SchedulerMetricsTest {
+    private static final Pattern BUCKET_MIN = Pattern.compile("\"decision_ns\":\\[.*\\{\"min\":(\\d+)");
+
+    @Test
+    void multiCoreMetricsCountEveryCoreOnce() {
+        ProcessTable table = new WorkloadGenerator(400, "poisson:2", "exponential:5", 6).toTable();
+        for (int cpus = 1; cpus <= 3; cpus++) {
+            MultiCoreScheduler scheduler = new MultiCoreScheduler(table,
+                    () -> SchedulingPolicies.of(CPUSchedulingSimulator.RR, 2), cpus, true, false, true);
+            scheduler.run();
+            String first = json(scheduler.metrics());
+            assertEquals(first, json(scheduler.metrics())); // Asking again adds nothing
+            assertEquals(scheduler.decisions(), field(first, "decisions"), first);
+            assertEquals(scheduler.decisions(), field(first, "ready_depth_count"), first);
+            // No decision can have waited longer than the whole run
+            Matcher largest = BUCKET_MIN.matcher(first);
+            assertTrue(largest.find(), first);
+            assertTrue(Long.parseLong(largest.group(1)) <= field(first, "elapsed_ns"), first);
+        }
+    }
+
+    private static String json(SchedulerMetrics metrics) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportWriter out = ReportWriter.of(bytes);
+        metrics.write(out, "RR-2");
+        out.flush();
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // A counter, or with ready_depth_count the sum of the ready_depth bucket counts
+    private static long field(String json, String name) {
+        if (name.equals("ready_depth_count")) {
+            String histogram = json.substring(json.indexOf("\"ready_depth\""), json.indexOf("\"decision_ns\""));
+            long sum = 0;
+            for (Matcher count = Pattern.compile("\"count\":(\\d+)").matcher(histogram); count.find(); ) {
+                sum += Long.parseLong(count.group(1));
+            }
+            return sum;
+        }
+        Matcher value = Pattern.compile("\"" + name + "\":(\\d+)").matcher(json);
+        assertTrue(value.find(), name + " in " + json);
+        return Long.parseLong(value.group(1));
+    }
+}
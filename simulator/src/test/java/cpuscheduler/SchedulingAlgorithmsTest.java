@@ -0,0 +1,77 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// Every algorithm against the scan-based reference on random workloads: the heaps (SPN, SRT), the
+// lazy priorities (HRRN, AGING) and the feedback queues must pick exactly the processes the original
+// loops picked, ties included.
+class SchedulingAlgorithmsTest {
+    private static final int[][] ALGORITHMS = {
+            {CPUSchedulingSimulator.FCFS, 0}, {CPUSchedulingSimulator.RR, 1}, {CPUSchedulingSimulator.RR, 3},
+            {CPUSchedulingSimulator.SPN, 0}, {CPUSchedulingSimulator.SRT, 0}, {CPUSchedulingSimulator.HRRN, 0},
+            {CPUSchedulingSimulator.AGING, 0}, {CPUSchedulingSimulator.FB_1, 0}, {CPUSchedulingSimulator.FB_2I, 0}};
+
+    @Test
+    void matchesReferenceOnRandomWorkloads() {
+        Random random = new Random(1);
+        for (int round = 0; round < 300; round++) {
+            ProcessTable table = randomWorkload(random);
+            int[] arrival = Arrays.copyOf(table.arrival, table.size);
+            int[] service = Arrays.copyOf(table.service, table.size);
+            CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table, false);
+            for (int[] algorithm : ALGORITHMS) {
+                simulator.runAlgorithm(algorithm[0], algorithm[1]);
+                assertArrayEquals(ReferenceScheduler.finishTimes(algorithm[0], algorithm[1], arrival, service),
+                        finishTimes(simulator, table.size), describe(algorithm, table));
+            }
+        }
+    }
+
+    @Test
+    void oneCoreMatchesSingleCpu() {
+        Random random = new Random(2);
+        for (int round = 0; round < 100; round++) {
+            ProcessTable table = randomWorkload(random);
+            CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table, false);
+            for (int[] algorithm : ALGORITHMS) {
+                simulator.runAlgorithm(algorithm[0], algorithm[1]);
+                MultiCoreScheduler cores = new MultiCoreScheduler(table,
+                        () -> SchedulingPolicies.of(algorithm[0], algorithm[1]), 1, false, false, false);
+                cores.run();
+                assertArrayEquals(finishTimes(simulator, table.size), cores.finishTime, describe(algorithm, table));
+            }
+        }
+    }
+
+    // Up to 30 processes in arrival order, with simultaneous arrivals and idle gaps
+    private static ProcessTable randomWorkload(Random random) {
+        int count = 1 + random.nextInt(30);
+        ProcessTable table = new ProcessTable(count);
+        int time = 0;
+        for (int i = 0; i < count; i++) {
+            time += random.nextInt(4) == 0 ? random.nextInt(10) : random.nextInt(2);
+            table.add(null, time, 1 + random.nextInt(12));
+        }
+        return table;
+    }
+
+    private static int[] finishTimes(CPUSchedulingSimulator simulator, int count) {
+        int[] finish = new int[count];
+        for (int i = 0; i < count; i++) {
+            finish[i] = simulator.finishTime(i);
+        }
+        return finish;
+    }
+
+    private static String describe(int[] algorithm, ProcessTable table) {
+        StringBuilder text = new StringBuilder(CPUSchedulingSimulator.algorithmName(algorithm[0], algorithm[1])).append(" on");
+        for (int i = 0; i < table.size; i++) {
+            text.append(' ').append(table.arrival[i]).append('/').append(table.service[i]);
+        }
+        return text.toString();
+    }
+}
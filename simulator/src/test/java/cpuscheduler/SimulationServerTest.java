@@ -0,0 +1,82 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class SimulationServerTest {
+    private static final String WORKLOAD = "A 0 3\nB 1 5\nC 2 2\nD 3 4\nE 3 1\nF 6 2\nG 8 3\nH 9 1\n";
+
+    @Test
+    void answersLikeTheBatchMode() throws IOException {
+        HttpServer server = SimulationServer.start(0, null);
+        try {
+            Response response = post(server, "algorithms=FCFS,RR-2&output=trace", WORKLOAD);
+            assertEquals(200, response.status);
+            assertEquals(Console.run(WORKLOAD, "--workload", "-", "--algorithms", "FCFS,RR-2", "--output", "trace"), response.body);
+            assertEquals(400, post(server, "algorithms=XYZ", WORKLOAD).status);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void refusesRequestsBeyondTheSizeLimits() throws IOException {
+        HttpServer server = SimulationServer.start(0, null);
+        try {
+            // The window is cut at the end of the trace, but a whole long run is still too wide
+            assertEquals(200, post(server, "algorithms=FCFS&output=trace&window=0:2000000000", WORKLOAD).status);
+            Response wide = post(server, "generate=100000&algorithms=FCFS&output=trace", null);
+            assertEquals(413, wide.status);
+            assertTrue(wide.body.contains("columns"), wide.body);
+            assertEquals(200, post(server, "generate=100000&algorithms=FCFS&output=trace&window=0:1000&processes=P1,P2", null).status);
+
+            StringBuilder many = new StringBuilder();
+            for (int i = 0; i <= SimulationServer.MAX_PROCESSES; i++) {
+                many.append("a ").append(i).append(" 1\n");
+            }
+            Response crowded = post(server, "algorithms=FCFS&output=summary", many.toString());
+            assertEquals(413, crowded.status);
+            assertTrue(crowded.body.contains("processes"), crowded.body);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static final class Response {
+        int status;
+        String body;
+    }
+
+    // Sends the request, with the workload as its body unless it is null
+    private static Response post(HttpServer server, String query, String workload) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + SimulationServer.PATH + "?" + query);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        if (workload != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(workload.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Response response = new Response();
+        response.status = connection.getResponseCode();
+        try (InputStream in = response.status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            for (int n; (n = in.read(buf)) > 0; ) {
+                body.write(buf, 0, n);
+            }
+            response.body = new String(body.toByteArray(), StandardCharsets.UTF_8);
+        }
+        return response;
+    }
+}
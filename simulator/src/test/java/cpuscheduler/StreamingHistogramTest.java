@@ -0,0 +1,69 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// Percentiles against the exact order statistics: values below 256 are exact, larger ones may be
+// reported up to 1/128 above the exact value, never below it and never above the maximum
+class StreamingHistogramTest {
+    private static final double[] FRACTIONS = {0, 0.001, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    void smallValuesAreExact() {
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        StreamingHistogram histogram = new StreamingHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(256);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double fraction : FRACTIONS) {
+            assertEquals(exact(values, fraction), histogram.percentile(fraction), "p" + fraction);
+        }
+    }
+
+    @Test
+    void largeValuesStayWithinBucketPrecision() {
+        Random random = new Random(8);
+        long[] values = new long[50_000];
+        StreamingHistogram histogram = new StreamingHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Magnitudes from single digits to close to Long.MAX_VALUE
+            values[i] = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, histogram.count());
+        assertEquals(values[values.length - 1], histogram.max());
+        for (int percent = 0; percent <= 100; percent++) {
+            double fraction = percent / 100.0;
+            long exact = exact(values, fraction);
+            long reported = histogram.percentile(fraction);
+            assertTrue(reported >= exact && reported - exact <= exact / 128, "p" + fraction + ": " + reported + " for " + exact);
+            assertTrue(reported <= histogram.max());
+        }
+        assertEquals(histogram.max(), histogram.percentile(1));
+    }
+
+    @Test
+    void emptyAndNegative() {
+        StreamingHistogram histogram = new StreamingHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+        histogram.record(-5); // Counted as 0
+        histogram.record(3);
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.percentile(0.5));
+        assertEquals(3, histogram.percentile(1));
+    }
+
+    // Smallest value with at least the given fraction of the values at or below it
+    private static long exact(long[] sorted, double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * sorted.length));
+        return sorted[(int) rank - 1];
+    }
+}
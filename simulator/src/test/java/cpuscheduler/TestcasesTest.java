@@ -0,0 +1,108 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// The interactive mode against the expected outputs in testcases/:
+//   input.txt with "output-if trace.txt" and "output-if stats.txt", a recorded session and its report
+//   expected/<workload>/<algorithm>-<trace|stats>.txt, the report of every algorithm on <workload>.txt
+// The expected outputs of the algorithms the original simulator had are the reports it printed, so the
+// rewritten engines are held to them byte for byte.
+class TestcasesTest {
+    private static final Path TESTCASES = Paths.get(System.getProperty("testcases", "../testcases"));
+
+    // Interactive menu entries; RR-<q> picks RR and answers the quantum prompt with q
+    private static final List<String> MENU = Arrays.asList("", "FCFS", "RR", "SPN", "SRT", "HRRN", "AGING", "FB-1", "FB-2i");
+
+    @Test
+    void recordedSession() throws IOException {
+        List<String> answers = answers(TESTCASES.resolve("input.txt"));
+        assertEquals(read(TESTCASES.resolve("output-if trace.txt")), report(answers));
+        answers.set(answers.size() - 1, "2"); // Statistics instead of the trace
+        assertEquals(read(TESTCASES.resolve("output-if stats.txt")), report(answers));
+    }
+
+    @Test
+    void everyAlgorithmOnEveryWorkload() throws IOException {
+        int checked = 0;
+        try (DirectoryStream<Path> workloads = Files.newDirectoryStream(TESTCASES.resolve("expected"))) {
+            for (Path expected : workloads) {
+                List<String> processes = processes(TESTCASES.resolve(expected.getFileName() + ".txt"));
+                try (DirectoryStream<Path> outputs = Files.newDirectoryStream(expected, "*.txt")) {
+                    for (Path output : outputs) {
+                        assertEquals(read(output), report(session(processes, output.getFileName().toString())),
+                                expected.getFileName() + "/" + output.getFileName());
+                        checked++;
+                    }
+                }
+            }
+        }
+        assertTrue(checked > 0, "no expected outputs in " + TESTCASES.toAbsolutePath());
+    }
+
+    // Answers to the prompts of an interactive session: FCFS-stats.txt, RR-2-trace.txt, ...
+    private static List<String> session(List<String> processes, String file) {
+        String name = file.substring(0, file.length() - ".txt".length());
+        String algorithm = name.substring(0, name.lastIndexOf('-'));
+        String output = name.substring(name.lastIndexOf('-') + 1);
+        List<String> answers = new ArrayList<>();
+        answers.add(String.valueOf(processes.size()));
+        answers.addAll(processes);
+        if (algorithm.startsWith("RR-")) {
+            answers.add(String.valueOf(MENU.indexOf("RR")));
+            answers.add(algorithm.substring("RR-".length()));
+        } else {
+            assertTrue(MENU.contains(algorithm), "unknown algorithm in " + file);
+            answers.add(String.valueOf(MENU.indexOf(algorithm)));
+        }
+        answers.add(output.equals("trace") ? "1" : "2");
+        return answers;
+    }
+
+    // Runs a session and returns the report, everything printed after the last prompt
+    private static String report(List<String> answers) throws IOException {
+        String printed = Console.run(String.join("\n", answers) + "\n");
+        String prompt = "Enter choice: \n";
+        return printed.substring(printed.lastIndexOf(prompt) + prompt.length());
+    }
+
+    // The answers typed in a recorded session: the text after each prompt
+    private static List<String> answers(Path transcript) throws IOException {
+        List<String> answers = new ArrayList<>();
+        for (String line : Files.readAllLines(transcript, StandardCharsets.UTF_8)) {
+            int prompt = line.lastIndexOf(": ");
+            if (prompt >= 0 && !line.substring(prompt + 2).trim().isEmpty()) {
+                answers.add(line.substring(prompt + 2).trim());
+            }
+        }
+        return answers;
+    }
+
+    // "name arrival service" lines of a workload, or of the process prompts of a recorded session
+    private static List<String> processes(Path workload) throws IOException {
+        List<String> processes = new ArrayList<>();
+        for (String line : Files.readAllLines(workload, StandardCharsets.UTF_8)) {
+            if (line.contains("for process")) {
+                processes.add(line.substring(line.lastIndexOf(": ") + 2).trim());
+            } else if (!line.contains(":") && line.trim().split("\\s+").length == 3) {
+                processes.add(line.trim());
+            }
+        }
+        return processes;
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).replace("\r\n", "\n");
+    }
+}
@@ -0,0 +1,50 @@
+package cpuscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+// A trace ends 10 ticks after the last process could have finished on its own (tick 21 here), or when the
+// last process finishes if they queue up past that
+class TraceWindowTest {
+    private static final String WORKLOAD = "A 0 3\nB 1 5\nC 2 2\nD 3 4\nE 3 1\nF 6 2\nG 8 3\nH 9 1\n";
+
+    @Test
+    void windowIsCutAtTheEndOfTheTrace() throws IOException {
+        assertEquals(trace(), trace("--window", "0:2000000000"));
+        assertEquals(trace("--window", "5:21"), trace("--window", "5:2000000000"));
+        String last = trace("--window", "21:2000000000");
+        assertTrue(last.startsWith("FCFS\n1 \n----"), last); // No ticks left, but a valid window
+    }
+
+    @Test
+    void windowMayReachPastTheDisplayedRunWhenProcessesQueue() {
+        ProcessTable table = new ProcessTable(3);
+        for (int i = 0; i < 3; i++) {
+            table.add(null, 0, 20); // Displayed up to tick 30, runs up to tick 60
+        }
+        CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table);
+        simulator.traceWindow(55, 100, 1, null);
+        assertThrows(IllegalArgumentException.class, () -> simulator.traceWindow(61, 100, 1, null));
+    }
+
+    @Test
+    void windowStartingAfterTheTraceIsRejected() {
+        ProcessTable table = new ProcessTable(1);
+        table.add(null, 0, 1);
+        CPUSchedulingSimulator simulator = new CPUSchedulingSimulator(table);
+        simulator.traceWindow(11, 2_000_000_000, 1, null);
+        assertThrows(IllegalArgumentException.class, () -> simulator.traceWindow(12, 2_000_000_000, 1, null));
+    }
+
+    private static String trace(String... window) throws IOException {
+        String[] args = {"--workload", "-", "--algorithms", "FCFS", "--output", "trace"};
+        String[] all = Arrays.copyOf(args, args.length + window.length);
+        System.arraycopy(window, 0, all, args.length, window.length);
+        return Console.run(WORKLOAD, all);
+    }
+}